@@ -0,0 +1,63 @@
+package mindchess.benchmark;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.BoardSnapshot;
+import mindchess.model.IBoard;
+import mindchess.model.Ply;
+import mindchess.model.Square;
+import mindchess.model.pieces.IPiece;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board copies that are made after every move, for the game history and for the UI
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    private IBoard board;
+    private Square movedFrom;
+    private Square movedTo;
+    private IPiece movedPiece;
+
+    @Setup
+    public void setUp() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+        movedFrom = Square.of(4, 6);
+        movedTo = Square.of(4, 4);
+        movedPiece = board.fetchPieceOnSquare(movedFrom);
+    }
+
+    /**
+     * The map of every piece on the board
+     */
+    @Benchmark
+    public Map<Square, IPiece> boardSnapshotToMap() {
+        return board.fetchBoardSnapshot().toMap();
+    }
+
+    /**
+     * The array copy of the board that the map is built from
+     */
+    @Benchmark
+    public BoardSnapshot fetchBoardSnapshot() {
+        return board.fetchBoardSnapshot();
+    }
+
+    /**
+     * A ply as it is added to the game history after a move
+     */
+    @Benchmark
+    public Ply createPly() {
+        return new Ply("White", movedFrom, movedTo, movedPiece, null, board.fetchBoardSnapshot());
+    }
+}
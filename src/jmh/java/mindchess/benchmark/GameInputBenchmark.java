@@ -0,0 +1,45 @@
+package mindchess.benchmark;
+
+import mindchess.model.ChessFacade;
+import mindchess.model.enums.PlayerType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a move made through the game states, a click on a piece followed by a click on its destination.
+ * <p>
+ * A new game is set up before every move and ended after it, so that the move is always e2-e4 from the starting position.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameInputBenchmark {
+    private ChessFacade model;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        model = new ChessFacade();
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 300);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        model.forfeit();
+    }
+
+    /**
+     * Selects the e2 pawn and moves it to e4
+     */
+    @Benchmark
+    public ChessFacade selectThenMove() {
+        model.handleBoardInput(4, 6);
+        model.handleBoardInput(4, 4);
+        return model;
+    }
+}
@@ -0,0 +1,62 @@
+package mindchess.benchmark;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.engine.LazySmpSearch;
+import mindchess.model.engine.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the time the parallel search takes to reach a fixed depth with different numbers of threads. The speedup of n
+ * threads is the time of one thread divided by the time of n threads.
+ * <p>
+ * The transposition table is cleared before every search, so that no search starts from the results of the one before.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LazySmpBenchmark {
+    private static final String MIDDLE_GAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+    private static final int DEPTH = 6;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private IBoard board;
+    private TranspositionTable table;
+    private LazySmpSearch search;
+
+    @Setup
+    public void setUp() {
+        board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, MIDDLE_GAME);
+        table = new TranspositionTable(64, true);
+        search = new LazySmpSearch(board, table, threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.shutdown();
+    }
+
+    /**
+     * Searches the middle game position to the fixed depth
+     */
+    @Benchmark
+    public int searchToDepth() {
+        return search.findBestMove(DEPTH, Long.MAX_VALUE, Long.MAX_VALUE / 4_000_000, Long.MAX_VALUE / 4_000_000);
+    }
+}
@@ -0,0 +1,68 @@
+package mindchess.benchmark;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.MoveList;
+import mindchess.model.Square;
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import mindchess.model.moveDelegates.IMoveDelegate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the move delegate of every piece type, on the starting position and on a middle game position where
+ * every piece type has moves
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveDelegateBenchmark {
+    private static final String MIDDLE_GAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Param({"start", "middle"})
+    public String position;
+
+    @Param({"QUEEN", "PAWN", "ROOK", "KING", "BISHOP", "KNIGHT"})
+    public PieceType pieceType;
+
+    private IBoard board;
+    private Square pieceSquare;
+    private IMoveDelegate moveDelegate;
+    private final MoveList moveList = new MoveList();
+
+    @Setup
+    public void setUp() {
+        board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, "start".equals(position) ? FenUtil.STARTING_POSITION : MIDDLE_GAME);
+        pieceSquare = Square.of(Long.numberOfTrailingZeros(board.getPieceBitboard(ChessColor.WHITE, pieceType)));
+        moveDelegate = board.fetchPieceOnSquare(pieceSquare).getMoveDelegate();
+    }
+
+    /**
+     * The legal squares one piece can move to, as fetched by the UI when the piece is selected
+     */
+    @Benchmark
+    public List<Square> fetchLegalSquares() {
+        return LegalMoveGenerator.fetchLegalSquares(board, pieceSquare);
+    }
+
+    /**
+     * The encoded moves of one piece, added to a reused move list
+     */
+    @Benchmark
+    public MoveList fetchMovesIntoMoveList() {
+        moveList.clear();
+        moveDelegate.fetchMoves(board, pieceSquare, moveList);
+        return moveList;
+    }
+}
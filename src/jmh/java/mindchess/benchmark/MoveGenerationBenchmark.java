@@ -0,0 +1,47 @@
+package mindchess.benchmark;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.MoveList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the generation of every legal move of a player, on the starting position and on a middle game position
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+    private static final String MIDDLE_GAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Param({"start", "middle"})
+    public String position;
+
+    private IBoard board;
+    private final MoveList moveList = new MoveList();
+
+    @Setup
+    public void setUp() {
+        board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, "start".equals(position) ? FenUtil.STARTING_POSITION : MIDDLE_GAME);
+    }
+
+    /**
+     * The encoded legal moves of the side to move, added to a reused move list
+     */
+    @Benchmark
+    public MoveList fetchLegalMoves() {
+        moveList.clear();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        return moveList;
+    }
+}
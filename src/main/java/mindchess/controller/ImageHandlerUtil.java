@@ -70,7 +70,7 @@ public class ImageHandlerUtil {
     List<ImageView> fetchDeadPieceImages(ChessColor chessColor) {
         List<ImageView> imageViews = new ArrayList<>();
         for (PieceType pieceType : model.getCurrentDeadPiecesByColor(chessColor)) {
-            ImageView imageView = createPieceImageView(new Square(0, 0), pieceType, chessColor, (int) squareDimension);
+            ImageView imageView = createPieceImageView(Square.of(0, 0), pieceType, chessColor, (int) squareDimension);
 
             imageView.setFitWidth(squareDimension - 25);
             imageView.setFitHeight(squareDimension - 25);
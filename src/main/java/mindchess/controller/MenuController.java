@@ -75,7 +75,7 @@ public class MenuController implements Initializable {
         window.setScene(scene);
         window.show();
 
-        mindchessController.setDisableDrawButton(gamemodeMap.get(gamemodeDropDown.getValue()) == CPU_LEVEL1 || gamemodeMap.get(gamemodeDropDown.getValue()) == CPU_LEVEL2);
+        mindchessController.setDisableDrawButton(gamemodeMap.get(gamemodeDropDown.getValue()) != HUMAN);
 
         mindchessController.setMediaPlayer(mediaPlayer);
         mindchessController.setAudioPlayer(audioPlayer);
@@ -141,6 +141,7 @@ public class MenuController implements Initializable {
         gamemodeMap.put("vs Player", HUMAN);
         gamemodeMap.put("vs AI lvl I", CPU_LEVEL1);
         gamemodeMap.put("vs AI lvl II", CPU_LEVEL2);
+        gamemodeMap.put("vs AI lvl III", CPU_LEVEL3);
 
         gamemodeMap.forEach((key, value) -> gamemodeDropDown.getItems().add(key));
 
@@ -23,14 +23,12 @@ import javafx.stage.Stage;
 import mindchess.model.*;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.enums.PieceType;
-import mindchess.model.pieces.IPiece;
 import mindchess.observers.EndGameObserver;
 import mindchess.observers.GameObserver;
 
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.ResourceBundle;
 
 /**
@@ -335,14 +333,15 @@ public class MindchessController implements Initializable, GameObserver, EndGame
      */
     private List<ImageView> fetchPieceImages() {
         List<ImageView> pieceImages = new ArrayList<>();
-        for (Map.Entry<Square, IPiece> entry : model.getCurrentBoardMap().entrySet()) {
-            ImageView imageView = imageHandlerUtil.createPieceImageView(entry.getKey(), entry.getValue().getPieceType(), entry.getValue().getColor(), (int) (chessboardContainer.getHeight() / 8));
+        int squareSize = (int) (chessboardContainer.getHeight() / 8);
+        Square lastMovedTo = model.getCurrentGamePlies().size() > 0 ? model.getLastPlyMovedToSquare() : null;
+        model.forEachPieceOnCurrentBoard((square, piece) -> {
+            ImageView imageView = imageHandlerUtil.createPieceImageView(square, piece.getPieceType(), piece.getColor(), squareSize);
             pieceImages.add(imageView);
-            if (model.getCurrentGamePlies().size() > 0
-                    && entry.getKey().equals(model.getLastPlyMovedToSquare())) {
-                imageHandlerUtil.addTranslateTransition(imageView, model.getLastPlyMovedFromSquare(), model.getLastPlyMovedToSquare(), (int) chessboardContainer.getHeight() / 8, 250);
+            if (square.equals(lastMovedTo)) {
+                imageHandlerUtil.addTranslateTransition(imageView, model.getLastPlyMovedFromSquare(), lastMovedTo, squareSize, 250);
             }
-        }
+        });
         return pieceImages;
     }
 
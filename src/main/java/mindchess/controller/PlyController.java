@@ -6,13 +6,10 @@ import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import mindchess.model.Ply;
-import mindchess.model.Square;
-import mindchess.model.pieces.IPiece;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -64,12 +61,13 @@ class PlyController extends AnchorPane {
     List<ImageView> generateBoardImages(boolean performMove) {
         List<ImageView> imageViewList = new ArrayList<>();
 
-        for (Map.Entry<Square, IPiece> entry : ply.getBoardSnapshot().entrySet()) {
-            ImageView imageView = imageHandlerUtil.createPieceImageView(entry.getKey(), entry.getValue().getPieceType(), entry.getValue().getColor(), 40);
+        ply.getBoardSnapshot().forEachPiece((square, piece) -> {
+            ImageView imageView = imageHandlerUtil.createPieceImageView(square, piece.getPieceType(), piece.getColor(), 40);
 
             imageViewList.add(imageView);
 
-            if (entry.getValue().equals(ply.getMovedPiece())) {
+            // Pieces of the same color and type are the same object, so the moved piece is found by the square it moved to
+            if (square.equals(ply.getMovedTo())) {
 
                 if (performMove) {
                     imageHandlerUtil.addTranslateTransition(imageView, ply.getMovedFrom(), ply.getMovedTo(), 40, 400);
@@ -84,7 +82,7 @@ class PlyController extends AnchorPane {
                     imageViewList.add(attackedImageView);
                 }
             }
-        }
+        });
 
         return imageViewList;
     }
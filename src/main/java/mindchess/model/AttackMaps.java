@@ -0,0 +1,102 @@
+package mindchess.model;
+
+import mindchess.model.attackTables.SlidingAttackTables;
+import mindchess.model.enums.ChessColor;
+import mindchess.model.pieces.IPiece;
+
+import java.util.Arrays;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.PieceType.*;
+
+/**
+ * Keeps the squares attacked by every piece on a board, and by each color, up to date as pieces are placed and removed.
+ * <p>
+ * When a square changes only the piece on that square and the sliding pieces that attack the square get new attacks, since
+ * those are the only rays that are opened or blocked. The attacks of each color are the union of the attacks of its pieces
+ * and are combined again the first time they are asked for after a change.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+class AttackMaps {
+    private final IBoard board;
+    private final long[] pieceAttacks = new long[64];
+    private final long[] colorAttacks = new long[2];
+    private boolean colorAttacksOutdated;
+
+    AttackMaps(IBoard board) {
+        this.board = board;
+    }
+
+    void reset() {
+        Arrays.fill(pieceAttacks, 0L);
+        Arrays.fill(colorAttacks, 0L);
+        colorAttacksOutdated = false;
+    }
+
+    /**
+     * Copies the attacks of another board with the same pieces
+     *
+     * @param other the attack maps of the board to copy
+     */
+    void copyFrom(AttackMaps other) {
+        System.arraycopy(other.pieceAttacks, 0, pieceAttacks, 0, 64);
+        System.arraycopy(other.colorAttacks, 0, colorAttacks, 0, 2);
+        colorAttacksOutdated = other.colorAttacksOutdated;
+    }
+
+    /**
+     * Updates the attacks after a piece has been placed on or removed from a square. Must be called after the bitboards of
+     * the board have been updated
+     *
+     * @param square the square that changed
+     */
+    void update(Square square) {
+        int index = square.getIndex();
+        IPiece piece = board.fetchPieceOnSquare(square);
+        pieceAttacks[index] = (piece == null) ? 0L : piece.getMoveDelegate().fetchAttacks(board, square);
+
+        long occupied = board.getOccupiedBitboard();
+        long queens = board.getPieceBitboard(WHITE, QUEEN) | board.getPieceBitboard(BLACK, QUEEN);
+        long rooks = board.getPieceBitboard(WHITE, ROOK) | board.getPieceBitboard(BLACK, ROOK) | queens;
+        long bishops = board.getPieceBitboard(WHITE, BISHOP) | board.getPieceBitboard(BLACK, BISHOP) | queens;
+        long slidersThroughSquare = (SlidingAttackTables.rookAttacks(index, occupied) & rooks)
+                | (SlidingAttackTables.bishopAttacks(index, occupied) & bishops);
+
+        for (long bits = slidersThroughSquare & ~(1L << index); bits != 0; bits &= bits - 1) {
+            Square sliderSquare = Square.of(Long.numberOfTrailingZeros(bits));
+            pieceAttacks[sliderSquare.getIndex()] = board.fetchPieceOnSquare(sliderSquare).getMoveDelegate().fetchAttacks(board, sliderSquare);
+        }
+        colorAttacksOutdated = true;
+    }
+
+    /**
+     * @param color the color of the attacking pieces
+     * @return a bitboard of every square attacked by a piece of the color, including squares with pieces of the same color
+     */
+    long getAttackedSquares(ChessColor color) {
+        if (colorAttacksOutdated) {
+            colorAttacks[WHITE.ordinal()] = unionOfAttacks(board.getColorBitboard(WHITE));
+            colorAttacks[BLACK.ordinal()] = unionOfAttacks(board.getColorBitboard(BLACK));
+            colorAttacksOutdated = false;
+        }
+        return colorAttacks[color.ordinal()];
+    }
+
+    /**
+     * @param square the square with a piece
+     * @return the squares the piece on the square attacks
+     */
+    long getPieceAttacks(Square square) {
+        return pieceAttacks[square.getIndex()];
+    }
+
+    private long unionOfAttacks(long pieces) {
+        long attacks = 0L;
+        for (long bits = pieces; bits != 0; bits &= bits - 1) {
+            attacks |= pieceAttacks[Long.numberOfTrailingZeros(bits)];
+        }
+        return attacks;
+    }
+}
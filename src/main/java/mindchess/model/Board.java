@@ -11,132 +11,230 @@ import static mindchess.model.enums.ChessColor.BLACK;
 import static mindchess.model.enums.ChessColor.WHITE;
 
 /**
- * Board represents the mindchess board and contains the information and methods to see where things are on the board.
+ * Board represents the mindchess board. The position is stored as twelve 64-bit piece bitboards, one for every color and piece
+ * type, together with occupancy masks for each color and for the whole board.
  * <p>
- * The mindchess board is represented by a map with Squares and IPieces that this class is responsible for putting into and
- * removing from.
+ * Bit i of a bitboard represents the square with x = i % 8 and y = i / 8. The pieces themselves are kept in a 64 element array
+ * indexed the same way, so that the IPiece on a square can be returned without searching the bitboards.
+ * <p>
+ * Occupancy and color queries are single bit operations, which makes the board suitable for move generation and check detection.
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
 public class Board implements IBoard {
-    private final Map<Square, IPiece> boardMap = new HashMap<>();
+    private final long[] pieceBitboards = new long[12];
+    private final long[] colorBitboards = new long[2];
+    private long occupied;
+    private long pieceKey;
+    private long materialSignature;
+    private final IPiece[] squares = new IPiece[64];
     private final List<IPiece> deadPieces = new ArrayList<>();
+    private final MoveMaker moveMaker = new MoveMaker(this);
+    private final AttackMaps attackMaps = new AttackMaps(this);
 
     Board() {
     }
 
     @Override
     public void initBoard() {
-        boardMap.clear();
-        deadPieces.clear();
+        clearBoard();
         placeAllPieces();
     }
 
+    @Override
+    public void clearBoard() {
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(colorBitboards, 0L);
+        Arrays.fill(squares, null);
+        occupied = 0L;
+        pieceKey = 0L;
+        materialSignature = 0L;
+        deadPieces.clear();
+        moveMaker.reset();
+        attackMaps.reset();
+    }
+
+    /**
+     * Copies the arrays of the other board instead of placing its pieces one at a time. The dead pieces are not copied,
+     * since they are only needed to unmake the moves made on this board
+     *
+     * @param source the board with the position to copy
+     */
+    @Override
+    public void copyPosition(IBoard source) {
+        Board other = (Board) source;
+        System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(other.colorBitboards, 0, colorBitboards, 0, colorBitboards.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        occupied = other.occupied;
+        pieceKey = other.pieceKey;
+        materialSignature = other.materialSignature;
+        deadPieces.clear();
+        moveMaker.copyFrom(other.moveMaker);
+        attackMaps.copyFrom(other.attackMaps);
+    }
+
     /**
-     * Puts the IPiece and Square into the boardMap with the Square as the key
+     * Places the piece on the square, replacing any piece that was already there
      *
      * @param square the square to place on
      * @param piece the piece to place
      */
     @Override
     public void placePieceOnSquare(Square square, IPiece piece) {
-        boardMap.put(square, piece);
+        int index = square.getIndex();
+        if (squares[index] != null) {
+            clearSquare(index);
+        }
+        long bit = 1L << index;
+        pieceBitboards[piece.getPieceIndex()] |= bit;
+        colorBitboards[piece.getColor().ordinal()] |= bit;
+        occupied |= bit;
+        pieceKey ^= ZobristKeys.pieceSquareKey(piece.getPieceIndex(), index);
+        materialSignature += MaterialSignature.pieceUnit(piece.getPieceIndex());
+        squares[index] = piece;
+        attackMaps.update(square);
     }
 
     /**
-     * removes the square and corresponding IPiece from the boardMap
+     * Removes the piece on the square from the board
      *
      * @param square square with a piece on it
-     * @return The removed piece
+     * @return The removed piece, or null if the square was empty
      */
     @Override
     public IPiece removePieceFromSquare(Square square) {
-        return boardMap.remove(square);
+        int index = square.getIndex();
+        if (squares[index] == null) return null;
+        IPiece removed = clearSquare(index);
+        attackMaps.update(square);
+        return removed;
     }
 
-    /**
-     * Checks if a square is occupied by a IPiece
-     *
-     * @param s The square we check
-     * @return True if there is a IPiece on the square
-     */
-    @Override
-    public boolean isOccupied(Square s) {
-        return boardMap.containsKey(s);
+    private IPiece clearSquare(int index) {
+        IPiece piece = squares[index];
+        long bit = ~(1L << index);
+        pieceBitboards[piece.getPieceIndex()] &= bit;
+        colorBitboards[piece.getColor().ordinal()] &= bit;
+        occupied &= bit;
+        pieceKey ^= ZobristKeys.pieceSquareKey(piece.getPieceIndex(), index);
+        materialSignature -= MaterialSignature.pieceUnit(piece.getPieceIndex());
+        squares[index] = null;
+        return piece;
     }
 
-    /**
-     * Changes the hasMoved attribute of the piece on the square to true
-     *
-     * @param s The square with the piece on it
-     */
     @Override
-    public void markPieceOnSquareHasMoved(Square s) {
-        fetchPieceOnSquare(s).setHasMoved(true);
+    public boolean isOccupied(Square s) {
+        return (occupied & (1L << s.getIndex())) != 0;
     }
 
-    /**
-     * places all pieces on the board
-     */
     private void placeAllPieces() {
-        placeBlackPieces();
-        placeWhitePieces();
-    }
-
-    private void placeBlackPieces() {
-        boardMap.put(new Square(0, 0), PieceFactory.createRook(BLACK));
-        boardMap.put(new Square(1, 0), PieceFactory.createKnight(BLACK));
-        boardMap.put(new Square(2, 0), PieceFactory.createBishop(BLACK));
-        boardMap.put(new Square(3, 0), PieceFactory.createQueen(BLACK));
-        boardMap.put(new Square(4, 0), PieceFactory.createKing(BLACK));
-        boardMap.put(new Square(5, 0), PieceFactory.createBishop(BLACK));
-        boardMap.put(new Square(6, 0), PieceFactory.createKnight(BLACK));
-        boardMap.put(new Square(7, 0), PieceFactory.createRook(BLACK));
-        for (int i = 0; i <= 7; i++) {
-            boardMap.put(new Square(i, 1), PieceFactory.createPawn(BLACK));
-        }
+        placeBackRank(BLACK, 0);
+        placePawnRank(BLACK, 1);
+        placePawnRank(WHITE, 6);
+        placeBackRank(WHITE, 7);
     }
 
-    private void placeWhitePieces() {
-        boardMap.put(new Square(0, 7), PieceFactory.createRook(WHITE));
-        boardMap.put(new Square(1, 7), PieceFactory.createKnight(WHITE));
-        boardMap.put(new Square(2, 7), PieceFactory.createBishop(WHITE));
-        boardMap.put(new Square(3, 7), PieceFactory.createQueen(WHITE));
-        boardMap.put(new Square(4, 7), PieceFactory.createKing(WHITE));
-        boardMap.put(new Square(5, 7), PieceFactory.createBishop(WHITE));
-        boardMap.put(new Square(6, 7), PieceFactory.createKnight(WHITE));
-        boardMap.put(new Square(7, 7), PieceFactory.createRook(WHITE));
+    private void placeBackRank(ChessColor color, int y) {
+        placePieceOnSquare(Square.of(0, y), PieceFactory.createRook(color));
+        placePieceOnSquare(Square.of(1, y), PieceFactory.createKnight(color));
+        placePieceOnSquare(Square.of(2, y), PieceFactory.createBishop(color));
+        placePieceOnSquare(Square.of(3, y), PieceFactory.createQueen(color));
+        placePieceOnSquare(Square.of(4, y), PieceFactory.createKing(color));
+        placePieceOnSquare(Square.of(5, y), PieceFactory.createBishop(color));
+        placePieceOnSquare(Square.of(6, y), PieceFactory.createKnight(color));
+        placePieceOnSquare(Square.of(7, y), PieceFactory.createRook(color));
+    }
+
+    private void placePawnRank(ChessColor color, int y) {
         for (int i = 0; i <= 7; i++) {
-            boardMap.put(new Square(i, 6), PieceFactory.createPawn(WHITE));
+            placePieceOnSquare(Square.of(i, y), PieceFactory.createPawn(color));
         }
     }
 
+    //-------------------------------------------------------------------------------------
+    //Bitboards
+
+    @Override
+    public long getPieceBitboard(ChessColor color, PieceType pieceType) {
+        return pieceBitboards[color.ordinal() * 6 + pieceType.ordinal()];
+    }
+
+    @Override
+    public long getColorBitboard(ChessColor color) {
+        return colorBitboards[color.ordinal()];
+    }
+
+    @Override
+    public long getOccupiedBitboard() {
+        return occupied;
+    }
+
+    @Override
+    public long makeMove(int move) {
+        return moveMaker.makeMove(move);
+    }
+
+    @Override
+    public void unmakeMove(int move, long undo) {
+        moveMaker.unmakeMove(move, undo);
+    }
+
+    @Override
+    public long getAttackedSquares(ChessColor color) {
+        return attackMaps.getAttackedSquares(color);
+    }
+
+    @Override
+    public boolean isSquareAttacked(Square square, ChessColor byColor) {
+        return (attackMaps.getAttackedSquares(byColor) & (1L << square.getIndex())) != 0;
+    }
+
+    @Override
+    public PositionState getPositionState() {
+        return moveMaker.getPositionState();
+    }
+
+    @Override
+    public long getPositionKey() {
+        return pieceKey ^ moveMaker.fetchStateKey();
+    }
+
+    @Override
+    public long getMaterialSignature() {
+        return materialSignature;
+    }
+
+    @Override
+    public int fetchRepetitionCount() {
+        return moveMaker.fetchRepetitionCount();
+    }
+
     //-------------------------------------------------------------------------------------
     //Fetchers
 
     @Override
     public IPiece fetchPieceOnSquare(Square squareSelected) {
-        return boardMap.get(squareSelected);
+        return squares[squareSelected.getIndex()];
     }
 
     @Override
     public ChessColor fetchPieceOnSquareColor(Square square) {
-        return boardMap.get(square).getColor();
+        int index = square.getIndex();
+        if ((occupied & (1L << index)) == 0) return null;
+        return (colorBitboards[WHITE.ordinal()] & (1L << index)) != 0 ? WHITE : BLACK;
     }
 
     @Override
     public boolean pieceOnSquareColorEquals(Square s, ChessColor chessColor) {
-        return boardMap.get(s).getColor().equals(chessColor);
+        return (colorBitboards[chessColor.ordinal()] & (1L << s.getIndex())) != 0;
     }
 
     @Override
     public Square fetchKingSquare(ChessColor color) {
-        for (Map.Entry<Square, IPiece> entry : boardMap.entrySet()) {
-            if (entry.getValue().getColor().equals(color) && entry.getValue().getPieceType().equals(PieceType.KING)) {
-                return entry.getKey();
-            }
-        }
-        throw new IllegalStateException("No king of this color on the board.");
+        long king = getPieceBitboard(color, PieceType.KING);
+        if (king == 0) throw new IllegalStateException("No king of this color on the board.");
+        return Square.of(Long.numberOfTrailingZeros(king));
     }
 
     //-------------------------------------------------------------------------------------
@@ -145,38 +243,48 @@ public class Board implements IBoard {
     public List<IPiece> getDeadPieces() {
         return deadPieces;
     }
+
     @Override
     public IPiece getPieceOnSquare(Square square) {
-        return boardMap.get(square);
+        return fetchPieceOnSquare(square);
     }
 
+    @Deprecated
     @Override
     public Map<Square, IPiece> getBoardSnapShot() {
-        return new HashMap<>(boardMap);
+        return fetchBoardSnapshot().toMap();
+    }
+
+    @Override
+    public BoardSnapshot fetchBoardSnapshot() {
+        return new BoardSnapshot(squares, occupied);
     }
 
+    @Deprecated
     @Override
     public Set<Map.Entry<Square, IPiece>> getBoardEntrySet() {
-        return boardMap.entrySet();
+        return fetchBoardSnapshot().toMap().entrySet();
     }
 
+    @Deprecated
     @Override
     public Set<Square> getBoardKeys() {
-        return boardMap.keySet();
+        return fetchBoardSnapshot().toMap().keySet();
     }
 
     @Override
     public boolean isSquareContainsAPiece(Square square) {
-        return boardMap.containsKey(square);
+        return isOccupied(square);
     }
 
     @Override
     public boolean isPieceOnSquareRook(Square square) {
-        return boardMap.get(square).getPieceType().equals(PieceType.ROOK);
+        long bit = 1L << square.getIndex();
+        return ((pieceBitboards[WHITE.ordinal() * 6 + PieceType.ROOK.ordinal()] | pieceBitboards[BLACK.ordinal() * 6 + PieceType.ROOK.ordinal()]) & bit) != 0;
     }
 
     @Override
     public boolean isAPieceOnSquare(Square square) {
-        return boardMap.containsKey(square);
+        return isOccupied(square);
     }
 }
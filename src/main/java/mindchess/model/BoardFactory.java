@@ -0,0 +1,13 @@
+package mindchess.model;
+
+/**
+ * Factory to create the IBoard a Game is played on.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class BoardFactory {
+
+    public static IBoard createBoard() {
+        return new Board();
+    }
+}
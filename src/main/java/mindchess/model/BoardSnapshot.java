@@ -0,0 +1,64 @@
+package mindchess.model;
+
+import mindchess.model.pieces.IPiece;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An unchanging copy of where the pieces were on a board at one point, for example after a ply.
+ * <p>
+ * The pieces are copied from the dense array of the board with System.arraycopy together with the bitboard of the occupied
+ * squares, so taking a snapshot is one small array copy and iterating it only visits the occupied squares.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class BoardSnapshot {
+    private final IPiece[] pieces = new IPiece[64];
+    private final long occupied;
+
+    /**
+     * @param pieces the pieces of a board indexed by square index, which are copied
+     * @param occupied the bitboard of the occupied squares
+     */
+    BoardSnapshot(IPiece[] pieces, long occupied) {
+        System.arraycopy(pieces, 0, this.pieces, 0, 64);
+        this.occupied = occupied;
+    }
+
+    /**
+     * @param square the square to look at
+     * @return the piece on the square, or null if the square was empty
+     */
+    public IPiece getPieceOnSquare(Square square) {
+        return pieces[square.getIndex()];
+    }
+
+    /**
+     * Performs the action for every piece in the snapshot, in order of the square index
+     *
+     * @param action the action to perform with the square and the piece on it
+     */
+    public void forEachPiece(BiConsumer<Square, IPiece> action) {
+        for (long bits = occupied; bits != 0; bits &= bits - 1) {
+            int index = Long.numberOfTrailingZeros(bits);
+            action.accept(Square.of(index), pieces[index]);
+        }
+    }
+
+    public int getPieceCount() {
+        return Long.bitCount(occupied);
+    }
+
+    /**
+     * Adapter for code that works with a map of the board
+     *
+     * @return a new map from the occupied squares to their pieces
+     */
+    public Map<Square, IPiece> toMap() {
+        Map<Square, IPiece> map = new HashMap<>();
+        forEachPiece(map::put);
+        return map;
+    }
+}
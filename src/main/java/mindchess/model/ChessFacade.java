@@ -10,6 +10,7 @@ import mindchess.observers.GameObserver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Chess represents the model to the rest of the application
@@ -112,6 +113,16 @@ public class ChessFacade {
         return getCurrentGamePlies().get(getCurrentGamePlies().size() - 1).getMovedTo();
     }
 
+    /**
+     * Sets the number of threads a CPU player of the current game searches for its moves with
+     *
+     * @param chessColor the color of the player
+     * @param searchThreads the number of threads, at least 1
+     */
+    public void setSearchThreads(ChessColor chessColor, int searchThreads) {
+        currentGame.setSearchThreads(chessColor, searchThreads);
+    }
+
     public int getCurrentWhiteTimerTime() {
         return currentGame.getPlayerWhiteTime();
     }
@@ -149,13 +160,22 @@ public class ChessFacade {
     }
 
     public Map<Square, IPiece> getCurrentBoardMap() {
-        return currentGame.getBoard().getBoardSnapShot();
+        return currentGame.getBoard().fetchBoardSnapshot().toMap();
     }
 
     private List<Game> getGameList() {
         return new ArrayList<>(gameList);
     }
 
+    /**
+     * Performs the action for every piece on the board of the current game, without copying the board
+     *
+     * @param action the action to perform with the square and the piece on it
+     */
+    public void forEachPieceOnCurrentBoard(BiConsumer<Square, IPiece> action) {
+        currentGame.getBoard().forEachPiece(action);
+    }
+
     public List<IPiece> getCurrentDeadPieces() {
         return new ArrayList<>(currentGame.getBoard().getDeadPieces());
     }
@@ -18,7 +18,7 @@ import java.util.TimerTask;
  */
 class ChessTimer {
     private final List<TimerObserver> observers = new ArrayList<>();
-    private int time;
+    private volatile int time;
     private boolean active = false;
     private Timer timer = new Timer();
 
@@ -0,0 +1,67 @@
+package mindchess.model;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.PieceType.*;
+
+/**
+ * Util class for the rules that end a game in a draw without either player agreeing to it: threefold repetition, the 50-move
+ * rule and insufficient material. Every rule is answered from state the board keeps up to date on every move, the position
+ * key history, the halfmove clock and the material signature, so nothing is compared square by square.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class DrawRulesUtil {
+    /**
+     * Bishops standing on light squares, where x + y is even
+     */
+    private static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+
+    private DrawRulesUtil() {
+    }
+
+    /**
+     * @param board the board of the current game
+     * @return true if the position has occurred at least twice before
+     */
+    public static boolean isThreefoldRepetition(IBoard board) {
+        return board.fetchRepetitionCount() >= 2;
+    }
+
+    /**
+     * @param board the board of the current game
+     * @return true if no pawn has moved and no piece has been taken in the last 50 moves of each player
+     */
+    public static boolean isFiftyMoveRule(IBoard board) {
+        return board.getPositionState().getHalfmoveClock() >= 100;
+    }
+
+    /**
+     * Checks if neither player can possibly checkmate, which is the case with only kings left, a king and a single bishop or
+     * knight against a lone king, or only bishops that all stand on squares of the same color
+     *
+     * @param board the board of the current game
+     * @return true if there is not enough material left for a checkmate
+     */
+    public static boolean isInsufficientMaterial(IBoard board) {
+        long signature = board.getMaterialSignature();
+        if (MaterialSignature.count(signature, PAWN) + MaterialSignature.count(signature, ROOK) + MaterialSignature.count(signature, QUEEN) > 0)
+            return false;
+
+        int knights = MaterialSignature.count(signature, KNIGHT);
+        int bishops = MaterialSignature.count(signature, BISHOP);
+        if (knights + bishops <= 1) return true;
+        if (knights > 0) return false;
+
+        long allBishops = board.getPieceBitboard(WHITE, BISHOP) | board.getPieceBitboard(BLACK, BISHOP);
+        return (allBishops & LIGHT_SQUARES) == 0 || (allBishops & ~LIGHT_SQUARES) == 0;
+    }
+
+    /**
+     * @param board the board of the current game
+     * @return true if any of the rules ends the game in a draw
+     */
+    public static boolean isDraw(IBoard board) {
+        return isFiftyMoveRule(board) || isInsufficientMaterial(board) || isThreefoldRepetition(board);
+    }
+}
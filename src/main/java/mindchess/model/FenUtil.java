@@ -0,0 +1,162 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import mindchess.model.pieces.IPiece;
+import mindchess.model.pieces.PieceFactory;
+
+import static mindchess.model.PositionState.*;
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+
+/**
+ * Util class to set up a board from a position written in Forsyth-Edwards Notation (FEN) and to write the position of a
+ * board as FEN.
+ * <p>
+ * The ranks of a FEN string go from rank 8 to rank 1, which is the same order as the y coordinate of the squares, so the
+ * first rank of the string is y = 0.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class FenUtil {
+    public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "qprkbn";
+
+    private FenUtil() {
+    }
+
+    /**
+     * Replaces the position on the board with the position of the FEN string. The move counters may be left out
+     *
+     * @param board the board to set up
+     * @param fen the position in Forsyth-Edwards Notation
+     * @throws IllegalArgumentException if the string is not a valid position
+     */
+    public static void loadFen(IBoard board, String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) throw new IllegalArgumentException("A FEN string needs at least four fields: " + fen);
+
+        board.clearBoard();
+        placePieces(board, fields[0]);
+
+        PositionState positionState = board.getPositionState();
+        positionState.setSideToMove(parseSideToMove(fields[1]));
+        positionState.setCastlingRights(parseCastlingRights(fields[2]));
+        positionState.setEnPassantIndex(fields[3].equals("-") ? -1 : parseSquare(fields[3]).getIndex());
+        positionState.setHalfmoveClock(fields.length > 4 ? Integer.parseInt(fields[4]) : 0);
+        positionState.setFullmoveNumber(fields.length > 5 ? Integer.parseInt(fields[5]) : 1);
+
+        if (Long.bitCount(board.getPieceBitboard(WHITE, PieceType.KING)) != 1 || Long.bitCount(board.getPieceBitboard(BLACK, PieceType.KING)) != 1)
+            throw new IllegalArgumentException("Both players need exactly one king: " + fen);
+    }
+
+    private static void placePieces(IBoard board, String placement) {
+        String[] ranks = placement.split("/");
+        if (ranks.length != 8) throw new IllegalArgumentException("A FEN position needs eight ranks: " + placement);
+
+        for (int y = 0; y < 8; y++) {
+            int x = 0;
+            for (char c : ranks[y].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    x += c - '0';
+                } else {
+                    if (x > 7) throw new IllegalArgumentException("Too many squares on a rank: " + ranks[y]);
+                    board.placePieceOnSquare(Square.of(x, y), parsePiece(c));
+                    x++;
+                }
+            }
+            if (x != 8) throw new IllegalArgumentException("A rank needs eight squares: " + ranks[y]);
+        }
+    }
+
+    private static IPiece parsePiece(char c) {
+        int type = PIECE_LETTERS.indexOf(Character.toLowerCase(c));
+        if (type < 0) throw new IllegalArgumentException("Unknown piece: " + c);
+        ChessColor color = Character.isUpperCase(c) ? WHITE : BLACK;
+        return PieceFactory.createPiece(PieceType.values()[type], color);
+    }
+
+    private static ChessColor parseSideToMove(String field) {
+        if (field.equals("w")) return WHITE;
+        if (field.equals("b")) return BLACK;
+        throw new IllegalArgumentException("Unknown side to move: " + field);
+    }
+
+    private static int parseCastlingRights(String field) {
+        int rights = 0;
+        if (field.equals("-")) return rights;
+        for (char c : field.toCharArray()) {
+            switch (c) {
+                case 'K' -> rights |= WHITE_KING_SIDE;
+                case 'Q' -> rights |= WHITE_QUEEN_SIDE;
+                case 'k' -> rights |= BLACK_KING_SIDE;
+                case 'q' -> rights |= BLACK_QUEEN_SIDE;
+                default -> throw new IllegalArgumentException("Unknown castling right: " + c);
+            }
+        }
+        return rights;
+    }
+
+    /**
+     * @param name the name of a square in algebraic notation, such as e4
+     * @return the square with the name
+     */
+    public static Square parseSquare(String name) {
+        if (name.length() != 2) throw new IllegalArgumentException("Unknown square: " + name);
+        int x = name.charAt(0) - 'a';
+        int y = '8' - name.charAt(1);
+        if (x < 0 || x > 7 || y < 0 || y > 7) throw new IllegalArgumentException("Unknown square: " + name);
+        return Square.of(x, y);
+    }
+
+    /**
+     * @param board the board with the position
+     * @return the position of the board in Forsyth-Edwards Notation
+     */
+    public static String createFen(IBoard board) {
+        StringBuilder fen = new StringBuilder();
+        for (int y = 0; y < 8; y++) {
+            int emptySquares = 0;
+            for (int x = 0; x < 8; x++) {
+                IPiece piece = board.fetchPieceOnSquare(Square.of(x, y));
+                if (piece == null) {
+                    emptySquares++;
+                    continue;
+                }
+                if (emptySquares > 0) fen.append(emptySquares);
+                emptySquares = 0;
+                char letter = PIECE_LETTERS.charAt(piece.getPieceType().ordinal());
+                fen.append(piece.getColor() == WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (emptySquares > 0) fen.append(emptySquares);
+            if (y < 7) fen.append('/');
+        }
+
+        PositionState positionState = board.getPositionState();
+        fen.append(positionState.getSideToMove() == WHITE ? " w " : " b ");
+        fen.append(createCastlingField(positionState.getCastlingRights()));
+        Square enPassant = positionState.getEnPassantSquare();
+        fen.append(' ').append(enPassant == null ? "-" : createSquareName(enPassant));
+        fen.append(' ').append(positionState.getHalfmoveClock()).append(' ').append(positionState.getFullmoveNumber());
+        return fen.toString();
+    }
+
+    /**
+     * @param square a square on the board
+     * @return the name of the square in algebraic notation, such as e4
+     */
+    public static String createSquareName(Square square) {
+        return "" + (char) ('a' + square.getX()) + (char) ('8' - square.getY());
+    }
+
+    private static String createCastlingField(int rights) {
+        if (rights == 0) return "-";
+        StringBuilder field = new StringBuilder();
+        if ((rights & WHITE_KING_SIDE) != 0) field.append('K');
+        if ((rights & WHITE_QUEEN_SIDE) != 0) field.append('Q');
+        if ((rights & BLACK_KING_SIDE) != 0) field.append('k');
+        if ((rights & BLACK_QUEEN_SIDE) != 0) field.append('q');
+        return field.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package mindchess.model;
 
+import mindchess.model.engine.LazySmpSearch;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.enums.PlayerType;
 import mindchess.model.gameStates.GameState;
@@ -38,6 +39,7 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
     private GameState gameState;
 
     private boolean timerRanOut = false;
+    private boolean endGameNotified = false;
 
     /**
      * Initializes the players for the game
@@ -69,6 +71,7 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
     public void handleBoardInput(int x, int y) {
         gameState.handleInput(x, y);
         if (!gameState.isGameOngoing()) {
+            stopAllTimers();
             notifyEndGame();
         }
     }
@@ -83,10 +86,13 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
         currentPlayer = getOtherPlayer();
         currentPlayer.setTimerActive(true);
 
+        //The CPU player makes its move right away and sets the state that follows it, which must not be replaced
         if (currentPlayer.getPlayerType() == CPU_LEVEL1 && !timerRanOut)
-            gameState = GameStateFactory.createGameStateAIPlayerTurn(board, plies, legalSquares, this, this, 1);
+            GameStateFactory.createGameStateAIPlayerTurn(board, plies, legalSquares, this, this, 1);
         else if (currentPlayer.getPlayerType() == CPU_LEVEL2 && !timerRanOut)
-            gameState = GameStateFactory.createGameStateAIPlayerTurn(board, plies, legalSquares, this, this, 2);
+            GameStateFactory.createGameStateAIPlayerTurn(board, plies, legalSquares, this, this, 2);
+        else if (currentPlayer.getPlayerType() == CPU_LEVEL3 && !timerRanOut)
+            GameStateFactory.createGameStateAIPlayerTurn(board, plies, legalSquares, this, this, 3);
 
         currentPlayer.setTimerActive(true);
         notifySwitchedPlayer();
@@ -168,6 +174,9 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
     }
 
     public void notifyEndGame() {
+        //A CPU player's move is handled inside the input of the human player, so the end of the game can be reached twice
+        if (endGameNotified) return;
+        endGameNotified = true;
         for (EndGameObserver p : endGameObservers) {
             p.showEndGameResult(gameState.getGameStatus());
         }
@@ -263,6 +272,14 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
         return currentPlayer.getName();
     }
 
+    public int getCurrentPlayerTime() {
+        return currentPlayer.getCurrentTime();
+    }
+
+    public LazySmpSearch fetchCurrentPlayerSearch() {
+        return currentPlayer.fetchSearch(board);
+    }
+
     List<Square> getLegalSquares() {
         return legalSquares;
     }
@@ -291,6 +308,10 @@ class Game implements TimerObserver, IGameContext, GameStateObserver {
         return plies;
     }
 
+    void setSearchThreads(ChessColor chessColor, int searchThreads) {
+        (chessColor == WHITE ? playerWhite : playerBlack).setSearchThreads(searchThreads);
+    }
+
     int getPlayerWhiteTime() {
         return playerWhite.getCurrentTime();
     }
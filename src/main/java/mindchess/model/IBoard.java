@@ -1,10 +1,12 @@
 package mindchess.model;
 
 import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
 import mindchess.model.pieces.IPiece;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Interface for the board
@@ -14,14 +16,26 @@ import java.util.Set;
 public interface IBoard {
     void initBoard();
 
+    /**
+     * Removes every piece and resets the position key, attack maps, dead pieces, move history and position state in one
+     * step, without setting up the starting position
+     */
+    void clearBoard();
+
+    /**
+     * Sets up the same position as another board, including the position state and the keys of the earlier positions,
+     * without going through a FEN string
+     *
+     * @param source the board with the position to copy
+     */
+    void copyPosition(IBoard source);
+
     void placePieceOnSquare(Square square, IPiece piece);
 
     IPiece removePieceFromSquare(Square square);
 
     boolean  isOccupied(Square s);
 
-    void markPieceOnSquareHasMoved(Square s);
-
     IPiece fetchPieceOnSquare(Square squareSelected);
 
     ChessColor fetchPieceOnSquareColor(Square square);
@@ -34,10 +48,42 @@ public interface IBoard {
 
     IPiece getPieceOnSquare(Square square);
 
+    /**
+     * @return a new map from every occupied square to its piece
+     * @deprecated builds a HashMap on every call, use {@link #fetchBoardSnapshot()} or {@link #forEachPiece(BiConsumer)} instead
+     */
+    @Deprecated
     Map<Square, IPiece> getBoardSnapShot();
 
+    /**
+     * @return a copy of where the pieces are, taken without building a map
+     */
+    BoardSnapshot fetchBoardSnapshot();
+
+    /**
+     * Performs the action for every piece on the board, in order of the square index, without copying the board
+     *
+     * @param action the action to perform with the square and the piece on it
+     */
+    default void forEachPiece(BiConsumer<Square, IPiece> action) {
+        for (long bits = getOccupiedBitboard(); bits != 0; bits &= bits - 1) {
+            Square square = Square.of(Long.numberOfTrailingZeros(bits));
+            action.accept(square, fetchPieceOnSquare(square));
+        }
+    }
+
+    /**
+     * @return the entries of a new map from every occupied square to its piece
+     * @deprecated builds a HashMap on every call, use {@link #forEachPiece(BiConsumer)} instead
+     */
+    @Deprecated
     Set<Map.Entry<Square, IPiece>> getBoardEntrySet();
 
+    /**
+     * @return the occupied squares, taken from a new map
+     * @deprecated builds a HashMap on every call, use {@link #getOccupiedBitboard()} or {@link #forEachPiece(BiConsumer)} instead
+     */
+    @Deprecated
     Set<Square> getBoardKeys();
 
     boolean isSquareContainsAPiece(Square square);
@@ -45,4 +91,98 @@ public interface IBoard {
     boolean isPieceOnSquareRook(Square square);
 
     boolean isAPieceOnSquare(Square square);
+
+    /**
+     * @return a bitboard with bit y * 8 + x set for every occupied square
+     */
+    long getOccupiedBitboard();
+
+    /**
+     * @param color the color of the pieces
+     * @return a bitboard with bit y * 8 + x set for every square holding a piece of the color
+     */
+    long getColorBitboard(ChessColor color);
+
+    /**
+     * The set of squares where the pieces of a color and type are, kept up to date on every place and remove, so that the
+     * pieces of one kind can be found without looking through the whole board
+     *
+     * @param color the color of the pieces
+     * @param pieceType the type of the pieces
+     * @return a bitboard with bit y * 8 + x set for every square holding a piece of the color and type
+     */
+    long getPieceBitboard(ChessColor color, PieceType pieceType);
+
+    /**
+     * The attack map of a color, kept up to date as pieces are placed and removed
+     *
+     * @param color the color of the attacking pieces
+     * @return a bitboard of every square attacked by a piece of the color, including squares with pieces of the same color
+     */
+    long getAttackedSquares(ChessColor color);
+
+    /**
+     * Checks if any piece of a color attacks a square, without generating any moves
+     *
+     * @param square the square to check
+     * @param byColor the color of the attacking pieces
+     * @return true if the square is attacked
+     */
+    default boolean isSquareAttacked(Square square, ChessColor byColor) {
+        return MovementLogicUtil.isSquareAttacked(this, square.getIndex(), byColor, getOccupiedBitboard());
+    }
+
+    /**
+     * @param square the square to check
+     * @return a bitboard of the squares with pieces of either color that attack the square
+     */
+    default long attackersTo(Square square) {
+        return MovementLogicUtil.attackersTo(this, square.getIndex(), getOccupiedBitboard());
+    }
+
+    /**
+     * Makes a move on the board, including the special rules of castling, en passant and promotion
+     *
+     * @param move the move to make, encoded with Move
+     * @return compact information which unmakeMove needs to restore the board
+     */
+    long makeMove(int move);
+
+    /**
+     * Restores the board to how it was before the move was made. Moves have to be unmade in the reverse order they were made
+     *
+     * @param move the move that was made
+     * @param undo the information returned by makeMove
+     */
+    void unmakeMove(int move, long undo);
+
+    /**
+     * @return the side to move, castling rights, en passant square and halfmove clock of the position, updated on every move
+     */
+    PositionState getPositionState();
+
+    /**
+     * The Zobrist key of the position, covering the pieces, side to move, castling rights and en passant file. The part for
+     * the pieces is updated every time a piece is placed or removed, so fetching the key does not hash the whole board
+     *
+     * @return a 64-bit key which is the same for equal positions
+     */
+    long getPositionKey();
+
+    /**
+     * The number of pieces of every color and type, packed with MaterialSignature and updated every time a piece is placed
+     * or removed
+     *
+     * @return the material signature of the position
+     */
+    long getMaterialSignature();
+
+    /**
+     * Counts how many times the current position has occurred before, by comparing position keys of earlier positions with
+     * the same side to move. Only the positions since the last pawn move or capture are compared, since no earlier position
+     * can occur again
+     *
+     * @return the number of earlier occurrences of the position
+     */
+    int fetchRepetitionCount();
 }
@@ -1,5 +1,6 @@
 package mindchess.model;
 
+import mindchess.model.engine.LazySmpSearch;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.gameStates.GameState;
 import mindchess.observers.GameStateObserver;
@@ -30,4 +31,15 @@ public interface IGameContext {
     String getCurrentPlayerName();
 
     ChessColor getCurrentPlayerColor();
+
+    /**
+     * @return the number of seconds left on the clock of the current player
+     */
+    int getCurrentPlayerTime();
+
+    /**
+     * @return the search of the current player on the board of the game, which is kept between its moves together with
+     * its transposition table
+     */
+    LazySmpSearch fetchCurrentPlayerSearch();
 }
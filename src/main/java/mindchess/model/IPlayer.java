@@ -1,5 +1,7 @@
 package mindchess.model;
 
+import mindchess.model.engine.LazySmpSearch;
+import mindchess.model.engine.TranspositionTable;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.enums.PlayerType;
 import mindchess.observers.TimerObserver;
@@ -18,6 +20,29 @@ public interface IPlayer {
 
     PlayerType getPlayerType();
 
+    /**
+     * @return the number of threads a CPU player searches for its moves with
+     */
+    int getSearchThreads();
+
+    void setSearchThreads(int searchThreads);
+
+    /**
+     * The table is created the first time it is fetched, so only players that search hold one
+     *
+     * @return the transposition table a CPU player keeps between its moves
+     */
+    TranspositionTable fetchTranspositionTable();
+
+    /**
+     * The search is created the first time it is fetched and kept, with its helper threads and boards, until the number of
+     * search threads is changed
+     *
+     * @param board the board of the game the player plays in
+     * @return the search a CPU player finds its moves with
+     */
+    LazySmpSearch fetchSearch(IBoard board);
+
     void setTimerActive(boolean active);
 
     void startPlayerTimer();
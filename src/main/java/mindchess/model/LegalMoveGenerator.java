@@ -0,0 +1,350 @@
+package mindchess.model;
+
+import mindchess.model.attackTables.LeaperAttackTables;
+import mindchess.model.attackTables.RayTables;
+import mindchess.model.attackTables.SlidingAttackTables;
+import mindchess.model.enums.ChessColor;
+
+import java.util.List;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.MoveType.*;
+import static mindchess.model.enums.PieceType.*;
+
+/**
+ * Generates the strictly legal moves of the side to move, without making any move to test if it leaves the king in check.
+ * <p>
+ * Once per position it finds the pieces giving check, the mask of squares that capture the checker or block its ray, and
+ * the pieces that are pinned to their king. A piece may then only move to squares in the check mask, and a pinned piece
+ * only along the line through its king and the pinning piece. The king is never allowed onto an attacked square, and in
+ * double check only the king may move.
+ * <p>
+ * The moves can be generated by kind, captures, quiet promotions and the remaining quiet moves, so that a search can look
+ * at the captures first.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class LegalMoveGenerator {
+    /**
+     * Moves that take a piece, including en passant and promotions that take a piece
+     */
+    public static final int CAPTURES = 1;
+    /**
+     * Promotions that do not take a piece
+     */
+    public static final int PROMOTIONS = 2;
+    /**
+     * Moves that neither take a piece nor promote, including castling
+     */
+    public static final int QUIETS = 4;
+    public static final int ALL_MOVES = CAPTURES | PROMOTIONS | QUIETS;
+
+    private LegalMoveGenerator() {
+    }
+
+    /**
+     * Adds every legal move of the side to move to the move list
+     *
+     * @param board the board of the current game
+     * @param moveList the list to add the moves to
+     */
+    public static void fetchLegalMoves(IBoard board, MoveList moveList) {
+        fetchLegalMoves(board, ALL_MOVES, moveList);
+    }
+
+    /**
+     * Adapter for the UI
+     *
+     * @param board the board of the current game
+     * @param from the square with a piece of the side to move
+     * @return the squares the piece on the square can legally move to
+     */
+    public static List<Square> fetchLegalSquares(IBoard board, Square from) {
+        MoveList pieceMoves = new MoveList();
+        fetchLegalMoves(board, ALL_MOVES, 1L << from.getIndex(), pieceMoves);
+        return pieceMoves.fetchDestinationSquares();
+    }
+
+    /**
+     * Tests a move that was found in an earlier search of the position, which may no longer be legal if the position key
+     * collided. Only the moves of the piece on the from square are generated
+     *
+     * @param board the board of the current game
+     * @param move the move to test, encoded with {@link Move}
+     * @return true if the move is legal for the side to move
+     */
+    public static boolean isLegalMove(IBoard board, int move) {
+        return isLegalMove(board, move, new MoveList());
+    }
+
+    /**
+     * Tests a move like {@link #isLegalMove(IBoard, int)}, but generates the moves of the piece into a buffer that is kept by
+     * the caller, so that the test does not allocate
+     *
+     * @param board the board of the current game
+     * @param move the move to test, encoded with {@link Move}
+     * @param buffer the list to generate the moves of the piece into, which is cleared first
+     * @return true if the move is legal for the side to move
+     */
+    public static boolean isLegalMove(IBoard board, int move, MoveList buffer) {
+        int from = Move.getFrom(move);
+        if ((board.getColorBitboard(board.getPositionState().getSideToMove()) & (1L << from)) == 0) return false;
+
+        buffer.clear();
+        fetchLegalMoves(board, ALL_MOVES, 1L << from, buffer);
+        return buffer.contains(move);
+    }
+
+    /**
+     * Adds the legal moves of the side to move of the given kinds to the move list
+     *
+     * @param board the board of the current game
+     * @param kinds the kinds of moves to add, CAPTURES, PROMOTIONS and QUIETS combined with |
+     * @param moveList the list to add the moves to
+     */
+    public static void fetchLegalMoves(IBoard board, int kinds, MoveList moveList) {
+        fetchLegalMoves(board, kinds, ~0L, moveList);
+    }
+
+    private static void fetchLegalMoves(IBoard board, int kinds, long fromMask, MoveList moveList) {
+        ChessColor us = board.getPositionState().getSideToMove();
+        ChessColor them = (us == WHITE) ? BLACK : WHITE;
+        int king = Long.numberOfTrailingZeros(board.getPieceBitboard(us, KING));
+        long own = board.getColorBitboard(us);
+        long enemy = board.getColorBitboard(them);
+        long occupied = own | enemy;
+        long checkers = MovementLogicUtil.attackersTo(board, king, occupied) & enemy;
+
+        long targets = 0L;
+        if ((kinds & CAPTURES) != 0) targets |= enemy;
+        if ((kinds & QUIETS) != 0) targets |= ~occupied;
+
+        boolean kingMoves = (fromMask & (1L << king)) != 0;
+        if (kingMoves) addKingMoves(board, king, them, occupied, LeaperAttackTables.kingAttacks(king) & targets, moveList);
+        if (Long.bitCount(checkers) > 1) return;
+        if (kingMoves && checkers == 0 && (kinds & QUIETS) != 0) addCastlingMoves(board, us, them, king, occupied, moveList);
+
+        long checkMask = (checkers == 0) ? ~0L : checkers | RayTables.between(king, Long.numberOfTrailingZeros(checkers));
+        long pinned = fetchPinnedPieces(board, them, king, occupied, own);
+
+        for (long bits = board.getPieceBitboard(us, KNIGHT) & ~pinned & fromMask; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            addMoves(from, LeaperAttackTables.knightAttacks(from) & targets & checkMask, moveList);
+        }
+        for (long bits = (board.getPieceBitboard(us, BISHOP) | board.getPieceBitboard(us, QUEEN)) & fromMask; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            addMoves(from, SlidingAttackTables.bishopAttacks(from, occupied) & targets & checkMask & pinMask, moveList);
+        }
+        for (long bits = (board.getPieceBitboard(us, ROOK) | board.getPieceBitboard(us, QUEEN)) & fromMask; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            addMoves(from, SlidingAttackTables.rookAttacks(from, occupied) & targets & checkMask & pinMask, moveList);
+        }
+        for (long bits = board.getPieceBitboard(us, PAWN) & fromMask; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            addPawnMoves(board, us, kinds, from, occupied, enemy, checkMask & pinMask, moveList);
+        }
+        if ((kinds & CAPTURES) != 0) addEnPassantMoves(board, us, them, king, occupied, checkers, checkMask, fromMask, moveList);
+    }
+
+    /**
+     * Tests if the side to move has any legal move, stopping at the first one found. The king moves are tried first since
+     * they are the only moves in double check, then the pieces that can capture or block a check.
+     * <p>
+     * Castling is not tried, since the king can always step to the square it passes when castling is legal
+     *
+     * @param board the board of the current game
+     * @return false if the side to move is checkmated or stalemated
+     */
+    public static boolean hasAnyLegalMove(IBoard board) {
+        ChessColor us = board.getPositionState().getSideToMove();
+        ChessColor them = (us == WHITE) ? BLACK : WHITE;
+        int king = Long.numberOfTrailingZeros(board.getPieceBitboard(us, KING));
+        long own = board.getColorBitboard(us);
+        long enemy = board.getColorBitboard(them);
+        long occupied = own | enemy;
+
+        long occupiedWithoutKing = occupied & ~(1L << king);
+        for (long bits = LeaperAttackTables.kingAttacks(king) & ~own; bits != 0; bits &= bits - 1) {
+            if (!MovementLogicUtil.isSquareAttacked(board, Long.numberOfTrailingZeros(bits), them, occupiedWithoutKing)) return true;
+        }
+
+        long checkers = MovementLogicUtil.attackersTo(board, king, occupied) & enemy;
+        if (Long.bitCount(checkers) > 1) return false;
+
+        long checkMask = (checkers == 0) ? ~0L : checkers | RayTables.between(king, Long.numberOfTrailingZeros(checkers));
+        long pinned = fetchPinnedPieces(board, them, king, occupied, own);
+        long targets = ~own & checkMask;
+
+        for (long bits = board.getPieceBitboard(us, KNIGHT) & ~pinned; bits != 0; bits &= bits - 1) {
+            if ((LeaperAttackTables.knightAttacks(Long.numberOfTrailingZeros(bits)) & targets) != 0) return true;
+        }
+        for (long bits = board.getPieceBitboard(us, PAWN); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            if ((fetchPawnTargets(us, from, occupied, enemy) & checkMask & pinMask) != 0) return true;
+        }
+        for (long bits = board.getPieceBitboard(us, BISHOP) | board.getPieceBitboard(us, QUEEN); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            if ((SlidingAttackTables.bishopAttacks(from, occupied) & targets & pinMask) != 0) return true;
+        }
+        for (long bits = board.getPieceBitboard(us, ROOK) | board.getPieceBitboard(us, QUEEN); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long pinMask = ((pinned & (1L << from)) != 0) ? RayTables.line(king, from) : ~0L;
+            if ((SlidingAttackTables.rookAttacks(from, occupied) & targets & pinMask) != 0) return true;
+        }
+
+        return fetchEnPassantPawns(board, us, them, king, occupied, checkers, checkMask) != 0;
+    }
+
+    /**
+     * @return the squares a pawn can push or capture to, without en passant
+     */
+    private static long fetchPawnTargets(ChessColor us, int from, long occupied, long enemy) {
+        int forward = (us == WHITE) ? -8 : 8;
+        int oneStep = from + forward;
+        long targets = LeaperAttackTables.pawnAttacks(us.ordinal(), from) & enemy;
+
+        if ((occupied & (1L << oneStep)) == 0) {
+            targets |= 1L << oneStep;
+            int twoSteps = oneStep + forward;
+            if ((from >>> 3) == ((us == WHITE) ? 6 : 1) && (occupied & (1L << twoSteps)) == 0) targets |= 1L << twoSteps;
+        }
+        return targets;
+    }
+
+    private static void addMoves(int from, long targets, MoveList moveList) {
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            moveList.add(Move.create(from, Long.numberOfTrailingZeros(bits), NORMAL));
+        }
+    }
+
+    /**
+     * The king may move to any square the opponent does not attack. The king is removed from the occupied squares when
+     * checking, so that it can not step back along the ray of a sliding piece that gives check
+     */
+    private static void addKingMoves(IBoard board, int king, ChessColor them, long occupied, long targets, MoveList moveList) {
+        long occupiedWithoutKing = occupied & ~(1L << king);
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int to = Long.numberOfTrailingZeros(bits);
+            if (!MovementLogicUtil.isSquareAttacked(board, to, them, occupiedWithoutKing)) {
+                moveList.add(Move.create(king, to, NORMAL));
+            }
+        }
+    }
+
+    private static void addCastlingMoves(IBoard board, ChessColor us, ChessColor them, int king, long occupied, MoveList moveList) {
+        int y = (us == WHITE) ? 7 : 0;
+        if (king != y * 8 + 4) return;
+        long rooks = board.getPieceBitboard(us, ROOK);
+        PositionState positionState = board.getPositionState();
+
+        if (positionState.canCastle(us, true) && (rooks & (1L << (king + 3))) != 0 && (occupied & (0x60L << (y * 8))) == 0
+                && !MovementLogicUtil.isSquareAttacked(board, king + 1, them, occupied)
+                && !MovementLogicUtil.isSquareAttacked(board, king + 2, them, occupied)) {
+            moveList.add(Move.create(king, king + 2, CASTLING));
+        }
+        if (positionState.canCastle(us, false) && (rooks & (1L << (king - 4))) != 0 && (occupied & (0x0EL << (y * 8))) == 0
+                && !MovementLogicUtil.isSquareAttacked(board, king - 1, them, occupied)
+                && !MovementLogicUtil.isSquareAttacked(board, king - 2, them, occupied)) {
+            moveList.add(Move.create(king, king - 2, CASTLING));
+        }
+    }
+
+    /**
+     * A piece is pinned if it is the only piece between its king and an opponent sliding piece that moves along that line
+     */
+    private static long fetchPinnedPieces(IBoard board, ChessColor them, int king, long occupied, long own) {
+        long queens = board.getPieceBitboard(them, QUEEN);
+        long snipers = (SlidingAttackTables.rookAttacks(king, 0L) & (board.getPieceBitboard(them, ROOK) | queens))
+                | (SlidingAttackTables.bishopAttacks(king, 0L) & (board.getPieceBitboard(them, BISHOP) | queens));
+
+        long pinned = 0L;
+        for (long bits = snipers; bits != 0; bits &= bits - 1) {
+            long between = RayTables.between(king, Long.numberOfTrailingZeros(bits)) & occupied;
+            if (between != 0 && (between & (between - 1)) == 0 && (between & own) != 0) pinned |= between;
+        }
+        return pinned;
+    }
+
+    private static void addPawnMoves(IBoard board, ChessColor us, int kinds, int from, long occupied, long enemy, long allowed, MoveList moveList) {
+        int forward = (us == WHITE) ? -8 : 8;
+        int startY = (us == WHITE) ? 6 : 1;
+        int oneStep = from + forward;
+
+        if ((occupied & (1L << oneStep)) == 0) {
+            if (isPromotionSquare(oneStep)) {
+                if ((kinds & PROMOTIONS) != 0 && (allowed & (1L << oneStep)) != 0) addPromotions(from, oneStep, moveList);
+            } else if ((kinds & QUIETS) != 0) {
+                if ((allowed & (1L << oneStep)) != 0) moveList.add(Move.create(from, oneStep, NORMAL));
+
+                int twoSteps = oneStep + forward;
+                if ((from >>> 3) == startY && (occupied & (1L << twoSteps)) == 0 && (allowed & (1L << twoSteps)) != 0) {
+                    moveList.add(Move.create(from, twoSteps, NORMAL));
+                }
+            }
+        }
+
+        if ((kinds & CAPTURES) != 0) {
+            for (long bits = LeaperAttackTables.pawnAttacks(us.ordinal(), from) & enemy & allowed; bits != 0; bits &= bits - 1) {
+                int to = Long.numberOfTrailingZeros(bits);
+                if (isPromotionSquare(to)) addPromotions(from, to, moveList);
+                else moveList.add(Move.create(from, to, NORMAL));
+            }
+        }
+    }
+
+    private static boolean isPromotionSquare(int square) {
+        int y = square >>> 3;
+        return y == 0 || y == 7;
+    }
+
+    private static void addPromotions(int from, int to, MoveList moveList) {
+        moveList.add(Move.create(from, to, PROMOTION, QUEEN));
+        moveList.add(Move.create(from, to, PROMOTION, KNIGHT));
+        moveList.add(Move.create(from, to, PROMOTION, ROOK));
+        moveList.add(Move.create(from, to, PROMOTION, BISHOP));
+    }
+
+    /**
+     * En passant removes two pawns from the same rank, which the pin masks can not describe, so it is tested by looking for
+     * sliding pieces that attack the king once the pawns have moved. A check from any other piece is only answered if the
+     * taken pawn is the piece giving check or the pawn blocks the check
+     *
+     * @return the pawns of the side to move that can take en passant
+     */
+    private static long fetchEnPassantPawns(IBoard board, ChessColor us, ChessColor them, int king, long occupied, long checkers, long checkMask) {
+        int enPassant = board.getPositionState().getEnPassantIndex();
+        if (enPassant < 0) return 0;
+
+        int taken = enPassant + ((us == WHITE) ? 8 : -8);
+        if (checkers != 0 && checkers != (1L << taken) && (checkMask & (1L << enPassant)) == 0) return 0;
+
+        long queens = board.getPieceBitboard(them, QUEEN);
+        long rooks = board.getPieceBitboard(them, ROOK) | queens;
+        long bishops = board.getPieceBitboard(them, BISHOP) | queens;
+
+        long pawns = 0;
+        for (long bits = LeaperAttackTables.pawnAttacks(them.ordinal(), enPassant) & board.getPieceBitboard(us, PAWN); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long occupiedAfter = (occupied & ~(1L << from) & ~(1L << taken)) | (1L << enPassant);
+            if ((SlidingAttackTables.rookAttacks(king, occupiedAfter) & rooks) == 0
+                    && (SlidingAttackTables.bishopAttacks(king, occupiedAfter) & bishops) == 0) {
+                pawns |= 1L << from;
+            }
+        }
+        return pawns;
+    }
+
+    private static void addEnPassantMoves(IBoard board, ChessColor us, ChessColor them, int king, long occupied, long checkers, long checkMask, long fromMask, MoveList moveList) {
+        long pawns = fetchEnPassantPawns(board, us, them, king, occupied, checkers, checkMask) & fromMask;
+        int enPassant = board.getPositionState().getEnPassantIndex();
+        for (long bits = pawns; bits != 0; bits &= bits - 1) {
+            moveList.add(Move.create(Long.numberOfTrailingZeros(bits), enPassant, EN_PASSANT));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+
+/**
+ * A material signature packs the number of pieces of every color and piece type on the board into one long, four bits per
+ * piece index. Adding or removing a piece adds or subtracts the unit of its piece index, so the boards can keep the
+ * signature up to date incrementally, and positions with the same material have the same signature.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class MaterialSignature {
+    private static final int BITS_PER_PIECE = 4;
+    private static final long COUNT_MASK = (1L << BITS_PER_PIECE) - 1;
+
+    private MaterialSignature() {
+    }
+
+    /**
+     * @param pieceIndex the piece index of a piece, see IPiece.getPieceIndex
+     * @return the value to add to a signature when the piece is placed and to subtract when it is removed
+     */
+    public static long pieceUnit(int pieceIndex) {
+        return 1L << (pieceIndex * BITS_PER_PIECE);
+    }
+
+    /**
+     * @param signature the material signature
+     * @param color the color of the pieces to count
+     * @param pieceType the type of the pieces to count
+     * @return the number of pieces of the color and type in the signature
+     */
+    public static int count(long signature, ChessColor color, PieceType pieceType) {
+        int pieceIndex = color.ordinal() * 6 + pieceType.ordinal();
+        return (int) ((signature >>> (pieceIndex * BITS_PER_PIECE)) & COUNT_MASK);
+    }
+
+    /**
+     * @param signature the material signature
+     * @param pieceType the type of the pieces to count
+     * @return the number of pieces of the type of both colors
+     */
+    public static int count(long signature, PieceType pieceType) {
+        return count(signature, ChessColor.WHITE, pieceType) + count(signature, ChessColor.BLACK, pieceType);
+    }
+}
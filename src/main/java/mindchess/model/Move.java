@@ -0,0 +1,102 @@
+package mindchess.model;
+
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PieceType;
+
+/**
+ * Encodes a move as a single int so that moves can be generated and stored without creating any objects.
+ * <p>
+ * Bits 0-5 hold the index of the square moved from, bits 6-11 the index of the square moved to, bits 12-13 the MoveType
+ * and bits 14-16 the piece type a pawn is promoted to, plus one, so that 0 means no promotion piece.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class Move {
+    /**
+     * Stands for no move, for example when there are no more moves to hand out. No legal move goes from a square to the same
+     * square, so no move is encoded as 0
+     */
+    public static final int NO_MOVE = 0;
+
+    private static final MoveType[] MOVE_TYPES = MoveType.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private static final int TO_SHIFT = 6;
+    private static final int TYPE_SHIFT = 12;
+    private static final int PROMOTION_SHIFT = 14;
+    private static final int SQUARE_MASK = 0x3F;
+
+    private Move() {
+    }
+
+    /**
+     * @param from the index of the square moved from
+     * @param to the index of the square moved to
+     * @param moveType the type of the move
+     * @return the encoded move
+     */
+    public static int create(int from, int to, MoveType moveType) {
+        return from | (to << TO_SHIFT) | (moveType.ordinal() << TYPE_SHIFT);
+    }
+
+    /**
+     * @param from the index of the square moved from
+     * @param to the index of the square moved to
+     * @param moveType the type of the move
+     * @param promotionPieceType the piece type the pawn is promoted to, or null if the move is not a promotion or the piece is
+     *                           not chosen yet
+     * @return the encoded move
+     */
+    public static int create(int from, int to, MoveType moveType, PieceType promotionPieceType) {
+        int promotion = (promotionPieceType == null) ? 0 : promotionPieceType.ordinal() + 1;
+        return create(from, to, moveType) | (promotion << PROMOTION_SHIFT);
+    }
+
+    public static int getFrom(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int getTo(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static Square getFromSquare(int move) {
+        return Square.of(getFrom(move));
+    }
+
+    public static Square getToSquare(int move) {
+        return Square.of(getTo(move));
+    }
+
+    public static MoveType getMoveType(int move) {
+        return MOVE_TYPES[(move >>> TYPE_SHIFT) & 3];
+    }
+
+    /**
+     * @param move the encoded move
+     * @return the piece type the pawn is promoted to, or null if there is none
+     */
+    public static PieceType getPromotionPieceType(int move) {
+        int promotion = (move >>> PROMOTION_SHIFT) & 7;
+        return (promotion == 0) ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    /**
+     * @param move the encoded move
+     * @return the move in coordinate notation, for example e2e4 or e7e8q
+     */
+    public static String toString(int move) {
+        StringBuilder sb = new StringBuilder();
+        appendSquare(sb, getFrom(move));
+        appendSquare(sb, getTo(move));
+        PieceType promotion = getPromotionPieceType(move);
+        if (promotion != null) {
+            sb.append(promotion == PieceType.KNIGHT ? 'n' : Character.toLowerCase(promotion.name().charAt(0)));
+        }
+        return sb.toString();
+    }
+
+    private static void appendSquare(StringBuilder sb, int index) {
+        sb.append((char) ('a' + (index & 7))).append((char) ('8' - (index >>> 3)));
+    }
+}
@@ -0,0 +1,61 @@
+package mindchess.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable buffer of moves encoded with {@link Move}, backed by an int array.
+ * <p>
+ * The buffer is meant to be created once and cleared between uses, so that filling it with moves does not allocate anything.
+ * 256 moves is more than any legal chess position has.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class MoveList {
+    private static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int i) {
+        return moves[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adapter for the code that works with squares. Promotions to different pieces share their destination square, so every
+     * destination is only added once
+     *
+     * @return the squares the moves in the list go to, in the order of the moves
+     */
+    public List<Square> fetchDestinationSquares() {
+        List<Square> squares = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Square to = Move.getToSquare(moves[i]);
+            if (!squares.contains(to)) squares.add(to);
+        }
+        return squares;
+    }
+}
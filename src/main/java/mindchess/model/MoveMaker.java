@@ -0,0 +1,215 @@
+package mindchess.model;
+
+import mindchess.model.attackTables.LeaperAttackTables;
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PieceType;
+import mindchess.model.pieces.IPiece;
+import mindchess.model.pieces.PieceFactory;
+
+import java.util.Arrays;
+
+import static mindchess.model.PositionState.*;
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.MoveType.*;
+import static mindchess.model.enums.PieceType.PAWN;
+
+/**
+ * Makes and unmakes moves encoded with Move on a board, only using the methods every IBoard has to place and remove pieces.
+ * The boards delegate makeMove and unmakeMove to a MoveMaker so that the special rules are only written once.
+ * The MoveMaker also owns the PositionState of the board and updates it with every move that is made or unmade.
+ * <p>
+ * The undo information returned by makeMove is packed in a long:
+ * bit 0 is set if a piece was taken and the bits from 1 and up hold the previous position state from PositionState.toBits,
+ * which also holds everything that depends on whether a king, rook or pawn has moved.
+ * <p>
+ * Taken pieces are put in the dead pieces of the board so that unmakeMove can put them back. Moves must therefore be unmade
+ * in the reverse order they were made.
+ * <p>
+ * The position key before every move is kept in a history, which is used to find repeated positions.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+class MoveMaker {
+    private static final long TAKEN = 1L;
+    private static final int STATE_SHIFT = 1;
+
+    /**
+     * The castling rights that are lost when a piece moves from or to each square, that is when the king or a rook moves or
+     * when a rook is taken on its starting square
+     */
+    private static final int[] CASTLING_RIGHTS_LOST = new int[64];
+
+    static {
+        CASTLING_RIGHTS_LOST[Square.of(4, 7).getIndex()] = WHITE_KING_SIDE | WHITE_QUEEN_SIDE;
+        CASTLING_RIGHTS_LOST[Square.of(7, 7).getIndex()] = WHITE_KING_SIDE;
+        CASTLING_RIGHTS_LOST[Square.of(0, 7).getIndex()] = WHITE_QUEEN_SIDE;
+        CASTLING_RIGHTS_LOST[Square.of(4, 0).getIndex()] = BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        CASTLING_RIGHTS_LOST[Square.of(7, 0).getIndex()] = BLACK_KING_SIDE;
+        CASTLING_RIGHTS_LOST[Square.of(0, 0).getIndex()] = BLACK_QUEEN_SIDE;
+    }
+
+    private final IBoard board;
+    private final PositionState positionState = new PositionState();
+    private long[] keyHistory = new long[256];
+    private int historySize;
+
+    MoveMaker(IBoard board) {
+        this.board = board;
+    }
+
+    void reset() {
+        positionState.reset();
+        historySize = 0;
+    }
+
+    /**
+     * Copies the position state and the key history of another board, so that repetitions of earlier positions are found
+     * on this board too
+     *
+     * @param other the move maker of the board to copy
+     */
+    void copyFrom(MoveMaker other) {
+        positionState.copyFrom(other.positionState);
+        if (keyHistory.length < other.historySize) keyHistory = new long[other.keyHistory.length];
+        System.arraycopy(other.keyHistory, 0, keyHistory, 0, other.historySize);
+        historySize = other.historySize;
+    }
+
+    PositionState getPositionState() {
+        return positionState;
+    }
+
+    /**
+     * Makes the move on the board, including the rook move of a castling, the taken pawn of an en passant and the piece of
+     * a promotion. A promotion move without a promotion piece only moves the pawn, so that the piece can be chosen afterwards
+     *
+     * @param move the move to make
+     * @return the information needed to unmake the move
+     */
+    long makeMove(int move) {
+        Square from = Move.getFromSquare(move);
+        Square to = Move.getToSquare(move);
+        MoveType moveType = Move.getMoveType(move);
+        IPiece piece = board.fetchPieceOnSquare(from);
+
+        if (historySize == keyHistory.length) keyHistory = Arrays.copyOf(keyHistory, historySize * 2);
+        keyHistory[historySize++] = board.getPositionKey();
+
+        long undo = positionState.toBits() << STATE_SHIFT;
+
+        Square takenSquare = (moveType == EN_PASSANT) ? Square.of(to.getX(), from.getY()) : to;
+        if (board.isOccupied(takenSquare)) {
+            board.getDeadPieces().add(board.removePieceFromSquare(takenSquare));
+            undo |= TAKEN;
+        }
+
+        movePiece(from, to);
+
+        if (moveType == CASTLING) {
+            movePiece(fetchCastlingRookFrom(from, to), fetchCastlingRookTo(from, to));
+        }
+
+        PieceType promotionPieceType = Move.getPromotionPieceType(move);
+        if (moveType == PROMOTION && promotionPieceType != null) {
+            board.placePieceOnSquare(to, PieceFactory.createPiece(promotionPieceType, piece.getColor()));
+        }
+
+        updatePositionState(from, to, piece.getPieceType() == PAWN, (undo & TAKEN) != 0);
+
+        return undo;
+    }
+
+    private void updatePositionState(Square from, Square to, boolean pawnMoved, boolean pieceTaken) {
+        positionState.removeCastlingRights(CASTLING_RIGHTS_LOST[from.getIndex()] | CASTLING_RIGHTS_LOST[to.getIndex()]);
+
+        boolean doubleStep = pawnMoved && Math.abs(to.getIndex() - from.getIndex()) == 16;
+        positionState.setEnPassantIndex(doubleStep ? (from.getIndex() + to.getIndex()) / 2 : -1);
+
+        positionState.setHalfmoveClock((pawnMoved || pieceTaken) ? 0 : positionState.getHalfmoveClock() + 1);
+        positionState.switchSideToMove();
+    }
+
+    /**
+     * Restores the board to how it was before the move was made
+     *
+     * @param move the move that was made
+     * @param undo the information returned when the move was made
+     */
+    void unmakeMove(int move, long undo) {
+        Square from = Move.getFromSquare(move);
+        Square to = Move.getToSquare(move);
+        MoveType moveType = Move.getMoveType(move);
+
+        if (moveType == PROMOTION && Move.getPromotionPieceType(move) != null) {
+            board.placePieceOnSquare(to, PieceFactory.createPawn(board.fetchPieceOnSquareColor(to)));
+        }
+
+        if (moveType == CASTLING) {
+            movePiece(fetchCastlingRookTo(from, to), fetchCastlingRookFrom(from, to));
+        }
+
+        movePiece(to, from);
+
+        if ((undo & TAKEN) != 0) {
+            Square takenSquare = (moveType == EN_PASSANT) ? Square.of(to.getX(), from.getY()) : to;
+            board.placePieceOnSquare(takenSquare, board.getDeadPieces().remove(board.getDeadPieces().size() - 1));
+        }
+
+        positionState.restoreBits(undo >>> STATE_SHIFT);
+        positionState.switchSideToMoveBack();
+        historySize--;
+    }
+
+    /**
+     * Compares the key of the position with the keys of the earlier positions with the same side to move, going back no
+     * further than the last pawn move or capture
+     *
+     * @return the number of earlier occurrences of the position
+     */
+    int fetchRepetitionCount() {
+        long key = board.getPositionKey();
+        int oldest = Math.max(0, historySize - positionState.getHalfmoveClock());
+        int count = 0;
+        for (int i = historySize - 2; i >= oldest; i -= 2) {
+            if (keyHistory[i] == key) count++;
+        }
+        return count;
+    }
+
+    /**
+     * The part of the Zobrist key that is not about where the pieces are: side to move, castling rights and the file of the
+     * en passant square. The en passant file is only included if a pawn of the side to move can take en passant, since the
+     * position is otherwise the same as without the double step
+     *
+     * @return the key of the state of the position
+     */
+    long fetchStateKey() {
+        long key = ZobristKeys.castlingKey(positionState.getCastlingRights());
+        if (positionState.getSideToMove() == BLACK) key ^= ZobristKeys.blackToMoveKey();
+        if (positionState.getEnPassantIndex() >= 0 && canTakeEnPassant()) {
+            key ^= ZobristKeys.enPassantFileKey(positionState.getEnPassantIndex() & 7);
+        }
+        return key;
+    }
+
+    private boolean canTakeEnPassant() {
+        ChessColor sideToMove = positionState.getSideToMove();
+        ChessColor opponentColor = (sideToMove == WHITE) ? BLACK : WHITE;
+        long attackers = LeaperAttackTables.pawnAttacks(opponentColor.ordinal(), positionState.getEnPassantIndex());
+        return (attackers & board.getPieceBitboard(sideToMove, PAWN)) != 0;
+    }
+
+    private void movePiece(Square from, Square to) {
+        board.placePieceOnSquare(to, board.removePieceFromSquare(from));
+    }
+
+    private Square fetchCastlingRookFrom(Square kingFrom, Square kingTo) {
+        return (kingTo.getX() > kingFrom.getX()) ? Square.of(kingTo.getX() + 1, kingTo.getY()) : Square.of(kingTo.getX() - 2, kingTo.getY());
+    }
+
+    private Square fetchCastlingRookTo(Square kingFrom, Square kingTo) {
+        return (kingTo.getX() > kingFrom.getX()) ? Square.of(kingTo.getX() - 1, kingTo.getY()) : Square.of(kingTo.getX() + 1, kingTo.getY());
+    }
+}
@@ -1,19 +1,21 @@
 package mindchess.model;
 
+import mindchess.model.attackTables.LeaperAttackTables;
+import mindchess.model.attackTables.SlidingAttackTables;
 import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.MoveType;
 import mindchess.model.enums.PieceType;
 import mindchess.model.pieces.IPiece;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static mindchess.model.enums.ChessColor.*;
-import static mindchess.model.enums.PieceType.PAWN;
-import static mindchess.model.enums.SquareType.*;
+import static mindchess.model.enums.PieceType.*;
+import static mindchess.model.enums.MoveType.*;
 
 /**
- * Is responsible for finding legal moves by checking a specified direction and returning all legal moves in a Square list in that direction
+ * Is responsible for the rules shared by the move delegates: special moves, converting attack bitboards to legal squares and checks
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
@@ -22,286 +24,136 @@ public class MovementLogicUtil {
     }
 
     /**
-     * Adds square to the list of legal moves if the square is inside the board AND:
-     * - the square is empty
-     * - the square has a piece of the opposite color
+     * Finds out which kind of move it is when the piece on a square moves to another square, so that the special rules of
+     * castling, en passant and pawn promotion can be applied when the move is made
      *
      * @param board the board of the current game
-     * @param s             potential legal square
-     * @param squareToCheck square moving from
-     * @param listToAddTo the list the square will be added to if legal
-     * @return returns boolean that breaks the loop where the method was called, if a point has been added
+     * @param moveFrom the square with the piece that moves
+     * @param moveTo the square the piece moves to
+     * @return the type of the move
      */
-    public static boolean addSquareIfLegal(IBoard board, Square s, Square squareToCheck, List<Square> listToAddTo) {
-        if (s.getX() >= 0 && s.getX() < 8 && s.getY() >= 0 && s.getY() < 8) {
-            if (!isOccupied(board, s)) {
-                listToAddTo.add(new Square(s.getX(), s.getY()));
-                return false;
-            } else if (!board.pieceOnSquareColorEquals(s, board.fetchPieceOnSquareColor(squareToCheck))) {
-                listToAddTo.add(new Square(s.getX(), s.getY()));
-                return true;
-            }
-        }
-        return true;
-    }
-
-    //-------------------------------------------------------------------------------------
-    //Directions
-
-    /**
-     * Checks the possible moves available in the upwards direction
-     *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
-     */
-    public static List<Square> up(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        for (int i = squareToCheck.getY() - 1; i >= 0 && iterations > 0; i--, iterations--) {
-            Square s = new Square(squareToCheck.getX(), i);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
-        }
-        return returnList;
-    }
+    public static MoveType fetchMoveType(IBoard board, Square moveFrom, Square moveTo) {
+        PieceType pieceType = board.fetchPieceOnSquare(moveFrom).getPieceType();
 
-    /**
-     * Checks the possible moves available in the downwards direction
-     *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
-     */
-    public static List<Square> down(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        for (int i = squareToCheck.getY() + 1; i < 8 && iterations > 0; i++, iterations--) {
-            Square s = new Square(squareToCheck.getX(), i);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
+        if (pieceType == KING && Math.abs(moveTo.getX() - moveFrom.getX()) == 2) return CASTLING;
+        if (pieceType == PAWN) {
+            if (moveTo.getY() == 0 || moveTo.getY() == 7) return PROMOTION;
+            if (moveTo.getX() != moveFrom.getX() && !board.isOccupied(moveTo)) return EN_PASSANT;
         }
-        return returnList;
+        return NORMAL;
     }
 
-    /**
-     * Checks the possible moves available in the leftwards direction
-     *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
-     */
-    public static List<Square> left(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        for (int i = squareToCheck.getX() - 1; i >= 0 && iterations > 0; i--, iterations--) {
-            Square s = new Square(i, squareToCheck.getY());
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
-        }
-        return returnList;
-    }
+    //-------------------------------------------------------------------------------------
+    //Bitboards
 
     /**
-     * Checks the possible moves available in the rightwards direction
+     * Converts a bitboard to a list with one square for every set bit, from the lowest index to the highest
      *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
+     * @param bitboard the bitboard to convert
+     * @return list of the squares in the bitboard
      */
-    public static List<Square> right(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        for (int i = squareToCheck.getX() + 1; i < 8 && iterations > 0; i++, iterations--) {
-            Square s = new Square(i, squareToCheck.getY());
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
+    public static List<Square> squaresFromBitboard(long bitboard) {
+        var squares = new ArrayList<Square>(Long.bitCount(bitboard));
+        for (long bits = bitboard; bits != 0; bits &= bits - 1) {
+            squares.add(Square.of(Long.numberOfTrailingZeros(bits)));
         }
-        return returnList;
+        return squares;
     }
 
     /**
-     * Checks the possible moves available in the up and left direction
+     * Adds a move to the move list for every square in the attack bitboard that is not occupied by the color of the piece,
+     * from the highest index to the lowest
      *
      * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
+     * @param squareToCheck the square with the piece
+     * @param attacks the attack bitboard of the piece
+     * @param moveList the list to add the moves to
      */
-    public static List<Square> upLeft(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        Square s = new Square(squareToCheck.getX(), squareToCheck.getY());
-        for (int i = 0; i < 8 && iterations > 0; i++, iterations--) {
-            s.setX(s.getX() - 1);
-            s.setY(s.getY() - 1);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
+    public static void addMovesFromAttacks(IBoard board, Square squareToCheck, long attacks, MoveList moveList) {
+        int from = squareToCheck.getIndex();
+        for (long bits = attacks & ~board.getColorBitboard(board.fetchPieceOnSquareColor(squareToCheck)); bits != 0; ) {
+            int to = 63 - Long.numberOfLeadingZeros(bits);
+            moveList.add(Move.create(from, to, NORMAL));
+            bits ^= 1L << to;
         }
-        return returnList;
     }
 
-    /**
-     * Checks the possible moves available in the up and right direction
-     *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
-     */
-    public static List<Square> upRight(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        Square s = new Square(squareToCheck.getX(), squareToCheck.getY());
-        for (int i = 0; i < 8 && iterations > 0; i++, iterations--) {
-            s.setX(s.getX() + 1);
-            s.setY(s.getY() - 1);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
-        }
-        return returnList;
-    }
+    //-------------------------------------------------------------------------------------
+    //Fetch
 
     /**
-     * Checks the possible moves available in the down and right direction
+     * Adds the moves of every piece of the color to the move list, without creating any objects
      *
      * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
+     * @param color the color of the pieces to move
+     * @param moveList the list to add the moves to
      */
-    public static List<Square> downRight(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        Square s = new Square(squareToCheck.getX(), squareToCheck.getY());
-        for (int i = 0; i < 8 && iterations > 0; i++, iterations--) {
-            s.setX(s.getX() + 1);
-            s.setY(s.getY() + 1);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
+    public static void fetchMovesByColor(IBoard board, ChessColor color, MoveList moveList) {
+        for (long bits = board.getColorBitboard(color); bits != 0; bits &= bits - 1) {
+            Square square = Square.of(Long.numberOfTrailingZeros(bits));
+            IPiece piece = board.fetchPieceOnSquare(square);
+            piece.getMoveDelegate().fetchMoves(board, square, moveList);
         }
-        return returnList;
     }
 
-    /**
-     * Checks the possible moves available in the down and left direction
-     *
-     * @param board the board of the current game
-     * @param squareToCheck square moving from
-     * @param iterations the maximum number of steps allowed for the piece to move
-     * @return list of the legal squares in the specified direction
-     */
-    public static List<Square> downLeft(IBoard board, Square squareToCheck, int iterations) {
-        var returnList = new ArrayList<Square>();
-        Square s = new Square(squareToCheck.getX(), squareToCheck.getY());
-        for (int i = 0; i < 8 && iterations > 0; i++, iterations--) {
-            s.setX(s.getX() - 1);
-            s.setY(s.getY() + 1);
-            if (addSquareIfLegal(board, s, squareToCheck, returnList)) break;
-        }
-        return returnList;
-    }
+    //-------------------------------------------------------------------------------------
+    //Is checks
 
     /**
-     * marks squares for pawn promotion if a pawn moves to the opposite side
+     * Checks if the king is attacked by the opponent
      *
      * @param board the board of the current game
-     * @param squareToCheck to check if the piece on the square is a pawn and what color it is
-     * @param legalSquares  possible squares the pawn can move to
+     * @param kingSquare the square the king is on
+     * @param opponentColor the color of the pieces that might attack the king
+     * @return true if any piece of the opponent color attacks the king square
      */
-    public static void checkPawnPromotion(IBoard board, Square squareToCheck, ArrayList<Square> legalSquares) {
-        if (legalSquares.size() == 0) return;
-
-        for (Square s : legalSquares) {
-            if (board.fetchPieceOnSquare(squareToCheck).getPieceType() == PAWN && (s.getY() == 0 && board.pieceOnSquareColorEquals(squareToCheck, WHITE) || s.getY() == 7 && board.pieceOnSquareColorEquals(squareToCheck, BLACK))) {
-                s.setSquareType(PROMOTION);
-            }
-        }
+    public static boolean isKingInCheck(IBoard board, Square kingSquare, ChessColor opponentColor) {
+        return board.isSquareAttacked(kingSquare, opponentColor);
     }
 
     /**
-     * returns a list of possible en passant moves, needs to know of the last move(ply) to check if en passant is possible
+     * Checks if a square is attacked by looking outwards from the square with the attack tables, instead of generating
+     * every move of the attacking color. A piece on the square attacks the same squares as the pieces that attack it,
+     * so the knight table from the square finds the attacking knights, the rook table the attacking rooks and queens and so on
      *
-     * @param lastPly       last move
-     * @param squareToCheck the square with the piece that is going to make the move
      * @param board the board of the current game
-     * @return list of possible en passant moves
+     * @param squareIndex the index of the square to check
+     * @param byColor the color of the pieces that might attack the square
+     * @param occupied the occupied squares the sliding pieces are blocked by, which may differ from the board when a moving
+     *                 piece should not block itself
+     * @return true if any piece of the color attacks the square
      */
-    static public List<Square> getEnPassantSquares(Ply lastPly, Square squareToCheck, IBoard board) {
-        List<Square> enPassantSquares = new ArrayList<>();
-        Square movedFrom = lastPly.getMovedFrom();
-        Square movedTo = lastPly.getMovedTo();
-        PieceType pieceType = lastPly.getMovedPiece().getPieceType();
-        ChessColor pieceToMoveColor = board.fetchPieceOnSquareColor(squareToCheck);
+    public static boolean isSquareAttacked(IBoard board, int squareIndex, ChessColor byColor, long occupied) {
+        ChessColor defenderColor = (byColor == WHITE) ? BLACK : WHITE;
+        long queens = board.getPieceBitboard(byColor, QUEEN);
 
-        if (pieceType.equals(PAWN)
-                && !board.pieceOnSquareColorEquals(movedTo, pieceToMoveColor)
-                && Math.abs(movedFrom.getY() - movedTo.getY()) == 2
-                && (movedTo.getX() == squareToCheck.getX() + 1 || movedFrom.getX() == squareToCheck.getX() - 1) && movedTo.getY() == squareToCheck.getY()) {
-            if (board.pieceOnSquareColorEquals(movedTo, BLACK)) {
-                enPassantSquares.add(new Square(movedTo.getX(), movedTo.getY() - 1, EN_PASSANT));
-            } else if (board.pieceOnSquareColorEquals(movedTo, WHITE)) {
-                enPassantSquares.add(new Square(movedTo.getX(), movedTo.getY() + 1, EN_PASSANT));
-            }
-        }
-        return enPassantSquares;
+        return (LeaperAttackTables.knightAttacks(squareIndex) & board.getPieceBitboard(byColor, KNIGHT)) != 0
+                || (LeaperAttackTables.pawnAttacks(defenderColor.ordinal(), squareIndex) & board.getPieceBitboard(byColor, PAWN)) != 0
+                || (LeaperAttackTables.kingAttacks(squareIndex) & board.getPieceBitboard(byColor, KING)) != 0
+                || (SlidingAttackTables.rookAttacks(squareIndex, occupied) & (board.getPieceBitboard(byColor, ROOK) | queens)) != 0
+                || (SlidingAttackTables.bishopAttacks(squareIndex, occupied) & (board.getPieceBitboard(byColor, BISHOP) | queens)) != 0;
     }
 
     /**
-     * checks if the king can make the castle move to the right
+     * Finds every piece of both colors that attacks a square, by looking outwards from the square with the attack tables
      *
      * @param board the board of the current game
-     * @param squareToCheck the square the king is currently on
-     * @return true if castling to the right is possible
+     * @param squareIndex the index of the square to check
+     * @param occupied the occupied squares the sliding pieces are blocked by
+     * @return a bitboard of the squares with pieces attacking the square
      */
-    public static boolean checkRightCastling(IBoard board, Square squareToCheck) {
-        for (int i = squareToCheck.getX() + 1; i <= squareToCheck.getX() + 2; i++) {
-            if (isOccupied(board, new Square(i, squareToCheck.getY()))) {
-                return false;
-            }
-        }
-        Square s = new Square(squareToCheck.getX() + 3, squareToCheck.getY());
-        if (isOccupied(board, s)) {
-            return board.isPieceOnSquareRook(s) && !board.fetchPieceOnSquare(s).getHasMoved() && board.pieceOnSquareColorEquals(s, board.fetchPieceOnSquareColor(squareToCheck));
-        }
-        return false;
-    }
-
-    /**
-     * checks if the king can make the castle move to the left
-     *
-     * @param board the board of the current game
-     * @param squareToCheck the square the king is currently on
-     * @return true if castling to the left is possible
-     */
-    public static boolean checkLeftCastling(IBoard board, Square squareToCheck) {
-        for (int i = squareToCheck.getX() - 1; i >= squareToCheck.getX() - 3; i--) {
-            if (isOccupied(board, new Square(i, squareToCheck.getY()))) {
-                return false;
-            }
-        }
-        Square s = new Square(squareToCheck.getX() - 4, squareToCheck.getY());
-        if (isOccupied(board, s)) {
-            return board.isPieceOnSquareRook(s) && !board.fetchPieceOnSquare(s).getHasMoved() && board.pieceOnSquareColorEquals(s, board.fetchPieceOnSquareColor(squareToCheck));
-        }
-        return false;
-    }
-
-    //-------------------------------------------------------------------------------------
-    //Fetch
-    public static List<Square> fetchLegalSquaresByColor(IBoard board, ChessColor color) {
-        List<Square> opponentLegalSquares = new ArrayList<>();
-
-        for (Map.Entry<Square, IPiece> entry : board.getBoardEntrySet()) {
-            if (entry.getValue().getColor().equals(color)) {
-                opponentLegalSquares.addAll(entry.getValue().getMoveDelegate().fetchMoves(board, entry.getKey(), entry.getValue().getHasMoved(), false));
-            }
-        }
-
-        return opponentLegalSquares;
-    }
-
-    public static ChessColor fetchPieceColorOnSquare(IBoard board, Square squareToCheck) {
-        return board.fetchPieceOnSquareColor(squareToCheck);
-    }
-
-    //-------------------------------------------------------------------------------------
-    //Is checks
-    public static boolean isOccupied(IBoard board, Square s) {
-        return board.isOccupied(s);
-    }
-
-    public static boolean isKingInCheck(IBoard board, Square kingSquare, ChessColor opponentColor) {
-        return fetchLegalSquaresByColor(board, opponentColor).contains(kingSquare);
+    public static long attackersTo(IBoard board, int squareIndex, long occupied) {
+        long knights = board.getPieceBitboard(WHITE, KNIGHT) | board.getPieceBitboard(BLACK, KNIGHT);
+        long kings = board.getPieceBitboard(WHITE, KING) | board.getPieceBitboard(BLACK, KING);
+        long queens = board.getPieceBitboard(WHITE, QUEEN) | board.getPieceBitboard(BLACK, QUEEN);
+        long rooks = board.getPieceBitboard(WHITE, ROOK) | board.getPieceBitboard(BLACK, ROOK) | queens;
+        long bishops = board.getPieceBitboard(WHITE, BISHOP) | board.getPieceBitboard(BLACK, BISHOP) | queens;
+
+        return (LeaperAttackTables.knightAttacks(squareIndex) & knights)
+                | (LeaperAttackTables.kingAttacks(squareIndex) & kings)
+                | (LeaperAttackTables.pawnAttacks(WHITE.ordinal(), squareIndex) & board.getPieceBitboard(BLACK, PAWN))
+                | (LeaperAttackTables.pawnAttacks(BLACK.ordinal(), squareIndex) & board.getPieceBitboard(WHITE, PAWN))
+                | (SlidingAttackTables.rookAttacks(squareIndex, occupied) & rooks)
+                | (SlidingAttackTables.bishopAttacks(squareIndex, occupied) & bishops);
     }
 }
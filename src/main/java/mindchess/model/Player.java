@@ -1,5 +1,7 @@
 package mindchess.model;
 
+import mindchess.model.engine.LazySmpSearch;
+import mindchess.model.engine.TranspositionTable;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.enums.PlayerType;
 import mindchess.observers.TimerObserver;
@@ -7,7 +9,8 @@ import mindchess.observers.TimerObserver;
 /**
  * Class Player represents a player playing mindchess and contains attributes for that player
  * <p>
- * The player controls its own timer
+ * The player controls its own timer, and a CPU player also owns the transposition table and the search, with its helper threads
+ * and boards, that it keeps between its moves
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
@@ -16,6 +19,10 @@ class Player implements IPlayer {
     private final ChessColor chessColor;
     private final PlayerType playerType;
     private final String name;
+    private static final int TRANSPOSITION_TABLE_MEGABYTES = 16;
+    private int searchThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private TranspositionTable transpositionTable;
+    private LazySmpSearch search;
 
     Player(String name, ChessColor chessColor, PlayerType playerType, Integer gameLength) {
         this.name = name;
@@ -58,9 +65,32 @@ class Player implements IPlayer {
         return playerType;
     }
 
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    public TranspositionTable fetchTranspositionTable() {
+        if (transpositionTable == null) transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_MEGABYTES, true);
+        return transpositionTable;
+    }
+
+    public LazySmpSearch fetchSearch(IBoard board) {
+        if (search == null) search = new LazySmpSearch(board, fetchTranspositionTable(), searchThreads);
+        return search;
+    }
+
     //-------------------------------------------------------------------------------------
     //Setters
     public void setTimerActive(boolean active) {
         chessTimer.setActive(active);
     }
+
+    public void setSearchThreads(int searchThreads) {
+        if (searchThreads < 1) throw new IllegalArgumentException("A player searches with at least one thread");
+        if (search != null && searchThreads != this.searchThreads) {
+            search.shutdown();
+            search = null;
+        }
+        this.searchThreads = searchThreads;
+    }
 }
@@ -2,9 +2,6 @@ package mindchess.model;
 
 import mindchess.model.pieces.IPiece;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Representation of a move by either Player. In chess terms a half-move, or a ply
  *
@@ -16,15 +13,15 @@ public class Ply {
     private final Square movedTo;
     private final IPiece movedPiece;
     private final IPiece takenPiece;
-    private final Map<Square, IPiece> boardSnapshot;
+    private final BoardSnapshot boardSnapshot;
 
-    public Ply(String playerName, Square movedFrom, Square movedTo, IPiece movedPiece, IPiece takenPiece, Map<Square, IPiece> boardMap) {
+    public Ply(String playerName, Square movedFrom, Square movedTo, IPiece movedPiece, IPiece takenPiece, BoardSnapshot boardSnapshot) {
         this.playerName = playerName;
         this.movedFrom = movedFrom;
         this.movedTo = movedTo;
         this.movedPiece = movedPiece;
         this.takenPiece = takenPiece;
-        this.boardSnapshot = new HashMap<>(boardMap);
+        this.boardSnapshot = boardSnapshot;
     }
 
     public String getPlayerName() {
@@ -47,7 +44,7 @@ public class Ply {
         return takenPiece;
     }
 
-    public Map<Square, IPiece> getBoardSnapshot() {
+    public BoardSnapshot getBoardSnapshot() {
         return boardSnapshot;
     }
 }
@@ -0,0 +1,166 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+
+/**
+ * The state of a position that can not be seen from where the pieces are: the side to move, the castling rights, the square
+ * a pawn can take en passant on, the halfmove clock and the fullmove number.
+ * <p>
+ * Together with the pieces on the board it fully describes a position without any move history. The board updates it on
+ * every move, so every rule query is a field read. Everything except the side to move and the fullmove number, which
+ * change the same way on every move, can be packed into a long so that it can be restored when a move is unmade.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class PositionState {
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int ALL_CASTLING_RIGHTS = 15;
+
+    private static final int EN_PASSANT_SHIFT = 4;
+    private static final int HALFMOVE_SHIFT = 11;
+
+    private ChessColor sideToMove;
+    private int castlingRights;
+    private int enPassantIndex;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+
+    PositionState() {
+        reset();
+    }
+
+    /**
+     * Sets the state to the state of another position
+     *
+     * @param other the state to copy
+     */
+    void copyFrom(PositionState other) {
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantIndex = other.enPassantIndex;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+    }
+
+    /**
+     * Sets the state of the starting position
+     */
+    void reset() {
+        sideToMove = WHITE;
+        castlingRights = ALL_CASTLING_RIGHTS;
+        enPassantIndex = -1;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+    }
+
+    public ChessColor getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * @return the castling rights as the bits WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and BLACK_QUEEN_SIDE
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * @param color the color of the king
+     * @param kingSide true for castling towards x = 7, false for castling towards x = 0
+     * @return true if neither the king nor the rook has moved or been taken
+     */
+    public boolean canCastle(ChessColor color, boolean kingSide) {
+        int right = (color == WHITE) ? (kingSide ? WHITE_KING_SIDE : WHITE_QUEEN_SIDE) : (kingSide ? BLACK_KING_SIDE : BLACK_QUEEN_SIDE);
+        return (castlingRights & right) != 0;
+    }
+
+    /**
+     * @return the index of the square a pawn can move to to take en passant, or -1 if the last move was not a double pawn step
+     */
+    public int getEnPassantIndex() {
+        return enPassantIndex;
+    }
+
+    /**
+     * @return the square a pawn can move to to take en passant, or null if the last move was not a double pawn step
+     */
+    public Square getEnPassantSquare() {
+        return (enPassantIndex < 0) ? null : Square.of(enPassantIndex);
+    }
+
+    /**
+     * @return the number of plies since the last capture or pawn move
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * @return the number of the full move, starting at 1 and increased after every black move
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    void setSideToMove(ChessColor sideToMove) {
+        this.sideToMove = sideToMove;
+    }
+
+    void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+    }
+
+    void removeCastlingRights(int rights) {
+        castlingRights &= ~rights;
+    }
+
+    void setEnPassantIndex(int enPassantIndex) {
+        this.enPassantIndex = enPassantIndex;
+    }
+
+    void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Changes the side to move, and counts up the fullmove number when black has moved
+     */
+    void switchSideToMove() {
+        if (sideToMove == BLACK) fullmoveNumber++;
+        sideToMove = (sideToMove == WHITE) ? BLACK : WHITE;
+    }
+
+    /**
+     * Changes the side to move back, and counts down the fullmove number when it is black that moved
+     */
+    void switchSideToMoveBack() {
+        sideToMove = (sideToMove == WHITE) ? BLACK : WHITE;
+        if (sideToMove == BLACK) fullmoveNumber--;
+    }
+
+    /**
+     * @return the castling rights, en passant square and halfmove clock packed in the lowest 31 bits of a long
+     */
+    long toBits() {
+        return castlingRights | ((long) (enPassantIndex + 1) << EN_PASSANT_SHIFT) | ((long) halfmoveClock << HALFMOVE_SHIFT);
+    }
+
+    /**
+     * @param bits the castling rights, en passant square and halfmove clock packed by toBits
+     */
+    void restoreBits(long bits) {
+        castlingRights = (int) (bits & ALL_CASTLING_RIGHTS);
+        enPassantIndex = (int) ((bits >>> EN_PASSANT_SHIFT) & 0x7F) - 1;
+        halfmoveClock = (int) ((bits >>> HALFMOVE_SHIFT) & 0xFFFFF);
+    }
+}
@@ -1,68 +1,73 @@
 package mindchess.model;
 
-import mindchess.model.enums.SquareType;
-
-import java.util.Objects;
-
-import static mindchess.model.enums.SquareType.NORMAL;
-
 /**
- * Represent a square on the chess board with an x and y coordinate. The square has a enum type SquareType which represents
- * what kind of square it currently is.
+ * Represent a square on the chess board with an x and y coordinate. Squares are immutable.
+ * <p>
+ * The 64 squares on the board are interned in a pool and identified by a packed index y * 8 + x, the same index that is used
+ * for the bits of a bitboard. Squares can only be fetched from the pool with {@link #of(int)} or {@link #of(int, int)}, so two
+ * squares with the same coordinates are always the same instance and can be compared by identity.
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
-public class Square {
-    private int x;
-    private int y;
-    private SquareType squareType = NORMAL;
-
-    public Square(int x, int y) {
-        this.x = x;
-        this.y = y;
-    }
+public final class Square {
+    private static final Square[] SQUARES = new Square[64];
 
-    public Square(int x, int y, SquareType squareType) {
-        this.x = x;
-        this.y = y;
-        this.squareType = squareType;
+    static {
+        for (int i = 0; i < 64; i++) {
+            SQUARES[i] = new Square(i & 7, i >>> 3);
+        }
     }
 
-    public int getX() {
-        return x;
-    }
+    private final int x;
+    private final int y;
+    private final int index;
 
-    void setX(int x) {
+    private Square(int x, int y) {
         this.x = x;
+        this.y = y;
+        this.index = y * 8 + x;
     }
 
-    public int getY() {
-        return y;
+    /**
+     * @param index the packed index y * 8 + x of the square, between 0 and 63
+     * @return the shared square with the index
+     */
+    public static Square of(int index) {
+        return SQUARES[index];
     }
 
-    void setY(int y) {
-        this.y = y;
+    /**
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the shared square with the coordinates
+     * @throws IllegalArgumentException if the coordinates are outside the board
+     */
+    public static Square of(int x, int y) {
+        if (!isOnBoard(x, y)) throw new IllegalArgumentException("Outside board: " + x + ", " + y);
+        return SQUARES[y * 8 + x];
     }
 
-    public SquareType getSquareType() {
-        return squareType;
+    /**
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the coordinates are on the board
+     */
+    public static boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8;
     }
 
-    void setSquareType(SquareType squareType) {
-        this.squareType = squareType;
+    public int getX() {
+        return x;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Square square = (Square) o;
-        return x == square.x &&
-                y == square.y;
+    public int getY() {
+        return y;
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(x, y);
+    /**
+     * @return the packed index y * 8 + x
+     */
+    public int getIndex() {
+        return index;
     }
 }
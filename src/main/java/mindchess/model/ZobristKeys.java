@@ -0,0 +1,65 @@
+package mindchess.model;
+
+import java.util.Random;
+
+/**
+ * Random 64-bit keys used to hash a position. The key of a position is the XOR of the keys of every piece on its square,
+ * the castling rights, the file of a possible en passant capture and the side to move.
+ * <p>
+ * Since XOR is its own inverse a piece can be added to or removed from the key by XOR-ing the same value, so the key can be
+ * updated incrementally when pieces are placed and removed instead of hashing the whole board.
+ * <p>
+ * The keys are generated from a fixed seed so that the same position always has the same key.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class ZobristKeys {
+    private static final long[][] PIECE_SQUARE_KEYS = new long[12][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_FILE_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(0x2B992DDFA23249D6L);
+        for (long[] pieceKeys : PIECE_SQUARE_KEYS) {
+            for (int square = 0; square < 64; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int rights = 1; rights < 16; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * @param pieceIndex the index of the piece from IPiece.getPieceIndex
+     * @param square the index of the square
+     * @return the key of the piece on the square
+     */
+    public static long pieceSquareKey(int pieceIndex, int square) {
+        return PIECE_SQUARE_KEYS[pieceIndex][square];
+    }
+
+    /**
+     * @param castlingRights the castling rights as four bits, 0 if no castling is possible
+     * @return the key of the castling rights, which is 0 when there are none
+     */
+    public static long castlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantFileKey(int file) {
+        return EN_PASSANT_FILE_KEYS[file];
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+}
@@ -0,0 +1,71 @@
+package mindchess.model.attackTables;
+
+/**
+ * Precomputed attack tables for the pieces that jump to a fixed set of squares: knights, kings and pawns.
+ * <p>
+ * The tables are built once when the class is loaded and hold one bitboard per square, so looking up the attacks of a
+ * knight, king or pawn is a single array read.
+ * <p>
+ * Squares are indexed as y * 8 + x, and bit i of a bitboard represents the square with index i.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class LeaperAttackTables {
+    private static final int[][] KNIGHT_OFFSETS = {{1, -2}, {2, -1}, {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}};
+    private static final int[][] KING_OFFSETS = {{0, -1}, {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}};
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, -1}, {1, -1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{-1, 1}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = fromOffsets(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = fromOffsets(square, KING_OFFSETS);
+            PAWN_ATTACKS[0][square] = fromOffsets(square, WHITE_PAWN_OFFSETS);
+            PAWN_ATTACKS[1][square] = fromOffsets(square, BLACK_PAWN_OFFSETS);
+        }
+    }
+
+    private LeaperAttackTables() {
+    }
+
+    /**
+     * @param square the index of the square the knight is on
+     * @return the squares attacked by a knight on the square
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * @param square the index of the square the king is on
+     * @return the squares attacked by a king on the square
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * White pawns move towards y = 0 and black pawns towards y = 7.
+     *
+     * @param colorOrdinal the ordinal of the ChessColor of the pawn
+     * @param square the index of the square the pawn is on
+     * @return the two (or one, on the edge files) squares diagonally in front of the pawn
+     */
+    public static long pawnAttacks(int colorOrdinal, int square) {
+        return PAWN_ATTACKS[colorOrdinal][square];
+    }
+
+    private static long fromOffsets(int square, int[][] offsets) {
+        long attacks = 0;
+        for (int[] offset : offsets) {
+            int x = (square & 7) + offset[0];
+            int y = (square >>> 3) + offset[1];
+            if (x >= 0 && x < 8 && y >= 0 && y < 8) attacks |= 1L << (y * 8 + x);
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,76 @@
+package mindchess.model.attackTables;
+
+/**
+ * Precomputed tables of the squares on the lines between two squares, used to find pinned pieces and the squares that can
+ * block a check.
+ * <p>
+ * Two squares are aligned if they are on the same rank, file or diagonal. For squares that are not aligned both tables
+ * hold an empty bitboard.
+ * <p>
+ * Squares are indexed as y * 8 + x, and bit i of a bitboard represents the square with index i.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class RayTables {
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                if (from == to) continue;
+                int dx = (to & 7) - (from & 7);
+                int dy = (to >>> 3) - (from >>> 3);
+                if (dx != 0 && dy != 0 && Math.abs(dx) != Math.abs(dy)) continue;
+
+                int stepX = Integer.signum(dx);
+                int stepY = Integer.signum(dy);
+                BETWEEN[from][to] = walk(from, to, stepX, stepY);
+                LINE[from][to] = walk(from, -1, -stepX, -stepY) | walk(from, -1, stepX, stepY) | (1L << from);
+            }
+        }
+    }
+
+    private RayTables() {
+    }
+
+    /**
+     * Walks from a square in one direction, not including the square itself
+     *
+     * @param from the index of the square to start from
+     * @param stop the index of the square to stop before, or -1 to walk to the edge of the board
+     * @param stepX the step in x, -1, 0 or 1
+     * @param stepY the step in y, -1, 0 or 1
+     * @return the squares walked over
+     */
+    private static long walk(int from, int stop, int stepX, int stepY) {
+        long squares = 0L;
+        int x = (from & 7) + stepX;
+        int y = (from >>> 3) + stepY;
+        while (x >= 0 && x < 8 && y >= 0 && y < 8 && y * 8 + x != stop) {
+            squares |= 1L << (y * 8 + x);
+            x += stepX;
+            y += stepY;
+        }
+        return squares;
+    }
+
+    /**
+     * @param from the index of the first square
+     * @param to the index of the second square
+     * @return the squares strictly between the two squares if they are aligned, otherwise an empty bitboard
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @param from the index of the first square
+     * @param to the index of the second square
+     * @return every square on the rank, file or diagonal through both squares, from edge to edge, if they are aligned,
+     * otherwise an empty bitboard
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+}
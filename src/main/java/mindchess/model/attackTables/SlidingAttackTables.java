@@ -0,0 +1,157 @@
+package mindchess.model.attackTables;
+
+/**
+ * Precomputed magic bitboard attack tables for the sliding pieces.
+ * <p>
+ * For every square the relevant occupancy (the squares on the rays from the square, excluding the board edges) is multiplied by a
+ * magic number and shifted, which gives a unique index into a table holding the attack set for that occupancy. Looking up the
+ * attacks of a rook or bishop is therefore a mask, a multiplication and a shift, no matter how many pieces are on the board.
+ * <p>
+ * Squares are indexed as y * 8 + x, and bit i of a bitboard represents the square with index i.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class SlidingAttackTables {
+    private static final long[] ROOK_MAGICS = {
+            0x0080008420144000L, 0x0140001000402000L, 0x8100200100081040L, 0x0580100181040800L,
+            0x0480040002480180L, 0x020002001004C108L, 0x06002600180104ACL, 0x0A00010200804024L,
+            0x1102800320814002L, 0xC000808040002000L, 0x0202802000821000L, 0x4210800800801000L,
+            0x8008808044004800L, 0x0006002418100200L, 0x0A00800200010080L, 0x0202000208804114L,
+            0x2010208000400080L, 0x1080484004201000L, 0x1062060020408410L, 0x4810010009001024L,
+            0x4400808008000401L, 0x9421010002080400L, 0x4208840002100801L, 0x8500020000804104L,
+            0x20A0400080208000L, 0x8840008080402008L, 0x0450200080100080L, 0x00100400C02800C0L,
+            0x0A48000880040080L, 0x1100020080800400L, 0x000A921400900148L, 0x0033004600008904L,
+            0x4202804002800020L, 0x3118804202002504L, 0x0004208842001200L, 0x0014C80084801000L,
+            0x0000080080800400L, 0x0922800400800200L, 0x8442000142008418L, 0x0020800040800100L,
+            0x1400400080008020L, 0x0010002008484002L, 0x0400200010008080L, 0x4028001000088080L,
+            0x4408000400808008L, 0x0129000400090052L, 0x8001001200110004L, 0x4000804084020001L,
+            0x1080002080400080L, 0x6A0B950022004200L, 0x8004401200268200L, 0x0002000820411600L,
+            0x0481480080040280L, 0xC001000802040100L, 0x00D1000C06000300L, 0x0026010084004200L,
+            0x2001C81100208001L, 0x0040002080110041L, 0x00410011A000400DL, 0x2081002208041001L,
+            0x0002000804201002L, 0x5101000A28040029L, 0x0100080112489004L, 0x02000E4400288102L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x9120024202040010L, 0x2848084884044042L, 0x211000C20041A022L, 0x4002208A01403034L,
+            0x0004042004112000L, 0x6002021004120500L, 0x0022080202101041L, 0x0102020382849000L,
+            0x0000082089840500L, 0x400204C104010200L, 0x0022460202060900L, 0x0400110502000010L,
+            0x10A9840420020000L, 0x0024120150080184L, 0x0008640288443200L, 0x822000908C901000L,
+            0x0488100408084810L, 0x0010402022008910L, 0x0084000808002208L, 0x0006800802024012L,
+            0x0246008420210880L, 0x0083050200808408L, 0x2004000231040200L, 0x0A04820504088684L,
+            0x0002A80120089050L, 0x1410020008320C20L, 0x8000300008008020L, 0x0344010084200880L,
+            0x6003010001104000L, 0x0008164002004214L, 0x021811000A014100L, 0x0242020020884140L,
+            0x0001104005088800L, 0x0002105069040100L, 0x0200805001010402L, 0x4001020081880080L,
+            0x06402080202A0020L, 0x0201100080010060L, 0x03282A04002080C0L, 0x02040040802206A0L,
+            0x2008822840482090L, 0x40008C0920080805L, 0x1002002024200800L, 0x080D204202200800L,
+            0x0061510212002404L, 0x2448101002108020L, 0x44A1080091100080L, 0x0809014312000900L,
+            0x0200611C10402004L, 0x040E010082104006L, 0x0000209400880002L, 0x1002000442022020L,
+            0x1200000420820040L, 0x1000091021420204L, 0x0021200202004020L, 0x0220028401002200L,
+            0x100603C201904820L, 0x020000420201208BL, 0x0102000422055002L, 0x60C6A04202104400L,
+            0x0224000010020880L, 0x0001122044410204L, 0x408C902002042848L, 0x2404010448020040L
+    };
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            initSquare(square, ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+            initSquare(square, BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+        }
+    }
+
+    private SlidingAttackTables() {
+    }
+
+    /**
+     * @param square the index of the square the rook is on
+     * @param occupied a bitboard of all occupied squares
+     * @return the squares attacked by a rook on the square, including the first occupied square in every direction
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_ATTACKS[square][(int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * @param square the index of the square the bishop is on
+     * @param occupied a bitboard of all occupied squares
+     * @return the squares attacked by a bishop on the square, including the first occupied square in every direction
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_ATTACKS[square][(int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * @param square the index of the square the queen is on
+     * @param occupied a bitboard of all occupied squares
+     * @return the squares attacked by a queen on the square, including the first occupied square in every direction
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Fills the mask, shift and attack table of a square by walking the rays for every subset of the relevant occupancy.
+     * Two subsets may share an index only if they give the same attacks, otherwise the magic of the square is wrong
+     */
+    private static void initSquare(int square, int[][] directions, long[] magics, long[] masks, int[] shifts, long[][] attacks) {
+        long mask = relevantOccupancy(square, directions);
+        int bits = Long.bitCount(mask);
+        masks[square] = mask;
+        shifts[square] = 64 - bits;
+        attacks[square] = new long[1 << bits];
+
+        long subset = 0;
+        do {
+            int index = (int) ((subset * magics[square]) >>> shifts[square]);
+            long subsetAttacks = walkRays(square, subset, directions);
+            if (attacks[square][index] != 0 && attacks[square][index] != subsetAttacks) {
+                throw new IllegalStateException("The magic of square " + square
+                        + " maps occupancies with different attacks to index " + index);
+            }
+            attacks[square][index] = subsetAttacks;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+    }
+
+    private static long relevantOccupancy(int square, int[][] directions) {
+        long mask = 0;
+        for (int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while (isInside(x + direction[0], y + direction[1])) {
+                mask |= 1L << (y * 8 + x);
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long walkRays(int square, long occupied, int[][] directions) {
+        long attacks = 0;
+        for (int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while (isInside(x, y)) {
+                long bit = 1L << (y * 8 + x);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isInside(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8;
+    }
+}
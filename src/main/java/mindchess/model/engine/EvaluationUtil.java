@@ -0,0 +1,127 @@
+package mindchess.model.engine;
+
+import mindchess.model.IBoard;
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.PieceType.QUEEN;
+
+/**
+ * Util class that scores a position for the search, in centipawns from the point of view of the side to move.
+ * <p>
+ * The score is the material of each player plus a bonus or penalty for the square every piece stands on. The square tables are
+ * written from white's point of view with rank 8 first, which is the same order as the square indexes, so a white piece on
+ * index i looks up entry i and a black piece looks up the vertically mirrored entry i ^ 56. The king uses a separate table,
+ * where it is safe to walk to the center, once the queens are off the board.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class EvaluationUtil {
+    /**
+     * The value of every piece type in centipawns, indexed by PieceType ordinal
+     */
+    static final int[] PIECE_VALUES = {900, 100, 500, 0, 330, 320};
+
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20};
+
+    private static final int[] PAWN_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int[] ROOK_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0};
+
+    private static final int[] KING_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20};
+
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20};
+
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50};
+
+    private static final int[] KING_ENDGAME_TABLE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50};
+
+    /**
+     * The square tables indexed by PieceType ordinal
+     */
+    private static final int[][] SQUARE_TABLES = {QUEEN_TABLE, PAWN_TABLE, ROOK_TABLE, KING_TABLE, BISHOP_TABLE, KNIGHT_TABLE};
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private EvaluationUtil() {
+    }
+
+    /**
+     * @param board the board with the position to score
+     * @return the score of the position in centipawns, positive if the side to move is better
+     */
+    public static int evaluate(IBoard board) {
+        boolean endgame = (board.getPieceBitboard(WHITE, QUEEN) | board.getPieceBitboard(BLACK, QUEEN)) == 0;
+        int score = evaluateColor(board, WHITE, 0, endgame) - evaluateColor(board, BLACK, 56, endgame);
+        return (board.getPositionState().getSideToMove() == WHITE) ? score : -score;
+    }
+
+    private static int evaluateColor(IBoard board, ChessColor color, int mirror, boolean endgame) {
+        int score = 0;
+        for (PieceType pieceType : PIECE_TYPES) {
+            int[] table = (pieceType == PieceType.KING && endgame) ? KING_ENDGAME_TABLE : SQUARE_TABLES[pieceType.ordinal()];
+            int value = PIECE_VALUES[pieceType.ordinal()];
+            for (long bits = board.getPieceBitboard(color, pieceType); bits != 0; bits &= bits - 1) {
+                score += value + table[Long.numberOfTrailingZeros(bits) ^ mirror];
+            }
+        }
+        return score;
+    }
+}
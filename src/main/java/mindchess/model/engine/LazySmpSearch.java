@@ -0,0 +1,173 @@
+package mindchess.model.engine;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.IBoard;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches a position on several threads with Lazy SMP: every thread runs its own iterative deepening search of the same
+ * position, and the only thing they share is the transposition table. The helper threads fill the table with results the
+ * main thread can use instead of searching the positions itself, so the main thread reaches its depths sooner. The table is
+ * moved on to a new search once per move, before the helpers start, so that no thread makes the entries of another look old.
+ * <p>
+ * Every other helper starts one depth deeper than the main thread, so that the threads do not all search the same depth at
+ * the same time. The main thread searches on the board it is given and decides the move and the time used. The helpers search
+ * on boards of their own, which are set up with IBoard.copyPosition before every search, and are stopped when the main thread
+ * is done.
+ * <p>
+ * The helper boards, searches and threads are created once and kept between searches, so a search only copies the position
+ * to the helper boards and hands the helpers to the pool. Idle pool threads end after a while, and the pool can be shut down
+ * when the search is no longer used.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class LazySmpSearch {
+    private static final long IDLE_HELPER_SECONDS = 60;
+
+    private final IBoard board;
+    private final TranspositionTable table;
+    private final int threadCount;
+    private final Search main;
+    private final IBoard[] helperBoards;
+    private final Search[] helpers;
+    private final Future<?>[] helperResults;
+    private final ExecutorService helperPool;
+    private long nodeCount;
+    private int completedDepth;
+    private int bestScore;
+    private long elapsedMillis;
+
+    /**
+     * @param board the board to search, which is changed during the search but restored before it returns
+     * @param table the table shared by the threads
+     * @param threadCount the number of threads to search with, including the calling thread
+     */
+    public LazySmpSearch(IBoard board, TranspositionTable table, int threadCount) {
+        if (threadCount < 1) throw new IllegalArgumentException("At least one thread is needed");
+        this.board = board;
+        this.table = table;
+        this.threadCount = threadCount;
+        this.main = new Search(board, table);
+        this.helperBoards = new IBoard[threadCount - 1];
+        this.helpers = new Search[threadCount - 1];
+        this.helperResults = new Future<?>[threadCount - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helperBoards[i] = BoardFactory.createBoard();
+            helpers[i] = new Search(helperBoards[i], table);
+        }
+        this.helperPool = helpers.length == 0 ? null : createHelperPool(helpers.length);
+    }
+
+    private static ExecutorService createHelperPool(int helperCount) {
+        AtomicInteger helperNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(helperCount, helperCount, IDLE_HELPER_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Search helper " + helperNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Searches the position on the calling thread and threadCount - 1 helper threads
+     *
+     * @param maxDepth the deepest depth to search to
+     * @param maxNodes the number of nodes the main thread may visit before stopping
+     * @param softMillis the number of milliseconds after which no new depth is started
+     * @param hardMillis the number of milliseconds after which the search is stopped
+     * @return the best move found by the main thread, or NO_MOVE if the side to move has no legal moves
+     */
+    public int findBestMove(int maxDepth, long maxNodes, long softMillis, long hardMillis) {
+        long start = System.nanoTime();
+        table.newSearch();
+        for (int i = 0; i < helpers.length; i++) {
+            helperBoards[i].copyPosition(board);
+            Search helper = helpers[i];
+            int startDepth = 1 + (i + 1) % 2;
+            helper.clearStop();
+            helperResults[i] = helperPool.submit(() -> helper.findBestMove(startDepth, maxDepth, Long.MAX_VALUE, hardMillis, hardMillis));
+        }
+
+        int bestMove = main.findBestMove(maxDepth, maxNodes, softMillis, hardMillis);
+
+        for (Search helper : helpers) {
+            helper.stop();
+        }
+        nodeCount = main.getNodeCount();
+        for (int i = 0; i < helpers.length; i++) {
+            awaitHelper(helperResults[i]);
+            nodeCount += helpers[i].getNodeCount();
+        }
+        completedDepth = main.getCompletedDepth();
+        bestScore = main.getBestScore();
+        elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return bestMove;
+    }
+
+    private void awaitHelper(Future<?> helperResult) {
+        try {
+            helperResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A helper search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Ends the helper threads. The search can not be used on several threads after this
+     */
+    public void shutdown() {
+        if (helperPool != null) helperPool.shutdownNow();
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * @return the number of positions visited by all threads in the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the deepest depth the main thread finished in the last search
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the score of the best move of the last search, from the point of view of the side to move
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * @return the time the last search took, including handing the position to the helpers and stopping them
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return a line with the thread count, depth, nodes, time and nodes per second of the last search
+     */
+    public String fetchReport() {
+        long nodesPerSecond = (elapsedMillis == 0) ? 0 : nodeCount * 1000 / elapsedMillis;
+        return "threads " + threadCount + " depth " + completedDepth + " score " + bestScore + " nodes " + nodeCount
+                + " time " + elapsedMillis + " ms nps " + nodesPerSecond;
+    }
+}
@@ -0,0 +1,163 @@
+package mindchess.model.engine;
+
+import mindchess.model.IBoard;
+import mindchess.model.Move;
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PieceType;
+import mindchess.model.pieces.IPiece;
+
+import java.util.Arrays;
+
+import static mindchess.model.Move.NO_MOVE;
+
+/**
+ * Keeps what the search has learned about which moves cause cutoffs, so that the moves of a position can be tried in the order
+ * most likely to cut the search short. The tables are read by a {@link MovePicker} for every position and updated by the
+ * search every time a quiet move causes a cutoff.
+ * <p>
+ * Captures are scored by the most valuable victim first and the least valuable attacker second. Quiet moves are ordered by
+ * three tables:
+ * <ul>
+ *     <li>the killer moves, the last two quiet moves that caused a cutoff at each ply, indexed by ply * 2 + slot</li>
+ *     <li>the butterfly history, how much each quiet move has caused cutoffs anywhere in the tree, indexed by
+ *     color * 4096 + from * 64 + to</li>
+ *     <li>the countermoves, the quiet move that last refuted each move, indexed by the piece index and the destination of the
+ *     refuted move, piece * 64 + to</li>
+ * </ul>
+ * All tables are primitive arrays, so nothing is allocated while searching. An orderer belongs to a single search thread.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class MoveOrderer {
+    private static final int KILLER_SLOTS = 2;
+    /**
+     * When a history score grows past this value every history score is halved, which keeps the scores from overflowing and
+     * lets newer cutoffs weigh more than old ones
+     */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[] killers = new int[Search.MAX_PLY * KILLER_SLOTS];
+    private final int[] history = new int[2 * 64 * 64];
+    private final int[] counterMoves = new int[12 * 64];
+
+    /**
+     * Prepares the tables for a search of a new position. The killer moves belong to the plies of the old search and are
+     * removed, while the history is halved so that it still helps but is soon replaced
+     */
+    public void newSearch() {
+        Arrays.fill(killers, NO_MOVE);
+        halveHistory();
+    }
+
+    /**
+     * Removes everything the tables have learned
+     */
+    public void clear() {
+        Arrays.fill(killers, NO_MOVE);
+        Arrays.fill(history, 0);
+        Arrays.fill(counterMoves, NO_MOVE);
+    }
+
+    /**
+     * Remembers a quiet move that caused a cutoff. Captures and promotions are ordered by what they take and are not recorded
+     *
+     * @param board the board in the position before the move was made
+     * @param move the move that caused the cutoff
+     * @param previousMove the move that led to the position, or NO_MOVE at the root
+     * @param ply the distance from the root of the position
+     * @param depth the depth the position was searched to, deeper cutoffs weigh more in the history
+     */
+    public void recordCutoff(IBoard board, int move, int previousMove, int ply, int depth) {
+        if (!isQuiet(board, move)) return;
+
+        int killerIndex = ply * KILLER_SLOTS;
+        if (killers[killerIndex] != move) {
+            killers[killerIndex + 1] = killers[killerIndex];
+            killers[killerIndex] = move;
+        }
+
+        int historyIndex = fetchHistoryIndex(board, move);
+        history[historyIndex] += depth * depth;
+        if (history[historyIndex] > HISTORY_LIMIT) halveHistory();
+
+        if (previousMove != NO_MOVE) counterMoves[fetchCounterMoveIndex(board, previousMove)] = move;
+    }
+
+    /**
+     * @param ply the distance from the root of the position
+     * @param slot 0 for the newest killer move, 1 for the one before
+     * @return the killer move, or NO_MOVE
+     */
+    public int getKiller(int ply, int slot) {
+        return killers[ply * KILLER_SLOTS + slot];
+    }
+
+    /**
+     * @param board the board in the position after the previous move was made
+     * @param previousMove the move that led to the position, or NO_MOVE at the root
+     * @return the quiet move that last refuted the previous move, or NO_MOVE
+     */
+    public int getCounterMove(IBoard board, int previousMove) {
+        if (previousMove == NO_MOVE) return NO_MOVE;
+        return counterMoves[fetchCounterMoveIndex(board, previousMove)];
+    }
+
+    /**
+     * @param board the board in the position before the move is made
+     * @param move a quiet move of the side to move
+     * @return how much the move has caused cutoffs, higher is better
+     */
+    public int getHistoryScore(IBoard board, int move) {
+        return history[fetchHistoryIndex(board, move)];
+    }
+
+    /**
+     * Scores a capture by the value of the taken piece first and the value of the taking piece second, and a promotion by the
+     * value of the new piece
+     *
+     * @param board the board in the position before the move is made
+     * @param move a capture or promotion of the side to move
+     * @return the score of the move, higher is better
+     */
+    public static int scoreCapture(IBoard board, int move) {
+        IPiece attacker = board.fetchPieceOnSquare(Move.getFromSquare(move));
+        int score = fetchVictimValue(board, move) * 16 - EvaluationUtil.PIECE_VALUES[attacker.getPieceType().ordinal()] / 100;
+        PieceType promotionPieceType = Move.getPromotionPieceType(move);
+        if (promotionPieceType != null) score += EvaluationUtil.PIECE_VALUES[promotionPieceType.ordinal()] * 16;
+        return score;
+    }
+
+    /**
+     * @return the value in centipawns of the piece the move takes, or 0 if it takes nothing
+     */
+    static int fetchVictimValue(IBoard board, int move) {
+        if (Move.getMoveType(move) == MoveType.EN_PASSANT) return EvaluationUtil.PIECE_VALUES[PieceType.PAWN.ordinal()];
+        IPiece victim = board.fetchPieceOnSquare(Move.getToSquare(move));
+        return (victim == null) ? 0 : EvaluationUtil.PIECE_VALUES[victim.getPieceType().ordinal()];
+    }
+
+    /**
+     * @return true if the move neither takes a piece nor promotes in the position on the board
+     */
+    static boolean isQuiet(IBoard board, int move) {
+        return Move.getMoveType(move) != MoveType.EN_PASSANT && Move.getPromotionPieceType(move) == null
+                && (board.getOccupiedBitboard() & (1L << Move.getTo(move))) == 0;
+    }
+
+    private static int fetchHistoryIndex(IBoard board, int move) {
+        return board.getPositionState().getSideToMove().ordinal() * 4096 + Move.getFrom(move) * 64 + Move.getTo(move);
+    }
+
+    /**
+     * The piece that made the previous move still stands on its destination square while the position after it is searched
+     */
+    private static int fetchCounterMoveIndex(IBoard board, int previousMove) {
+        return board.fetchPieceOnSquare(Move.getToSquare(previousMove)).getPieceIndex() * 64 + Move.getTo(previousMove);
+    }
+
+    private void halveHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+}
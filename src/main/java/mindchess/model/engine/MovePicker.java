@@ -0,0 +1,206 @@
+package mindchess.model.engine;
+
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import mindchess.model.MoveList;
+
+import static mindchess.model.Move.NO_MOVE;
+
+/**
+ * Hands out the legal moves of a position one at a time, best first, generating them in stages only when the previous stage
+ * has run out. A search that gets a cutoff from the hash move or a capture never pays for generating the quiet moves.
+ * <p>
+ * The stages are, in order: the hash move from an earlier search of the position, the captures and promotions by most valuable
+ * victim and least valuable attacker, the two killer moves of the ply and the countermove of the previous move, and last the
+ * other quiet moves by their history score. The killer moves, countermove and history come from a {@link MoveOrderer}. A
+ * picker without an orderer hands out the quiet moves in the order they are generated. The hash move, killer moves and
+ * countermove are only handed out if they are legal in the position, and no move is handed out twice.
+ * <p>
+ * A picker is meant to be kept per ply and reset for every new position, so that it does not allocate while searching. The
+ * position must not change between calls to {@link #nextMove()}, except for moves that are unmade again.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class MovePicker {
+    private static final int HASH_MOVE_STAGE = 0;
+    private static final int GENERATE_CAPTURE_STAGE = 1;
+    private static final int CAPTURE_STAGE = 2;
+    private static final int REFUTATION_STAGE = 3;
+    private static final int GENERATE_QUIET_STAGE = 4;
+    private static final int QUIET_STAGE = 5;
+    private static final int DONE = 6;
+    /**
+     * Marks a move of the current stage as handed out. No move scores this low
+     */
+    private static final int PICKED = Integer.MIN_VALUE;
+
+    private final MoveOrderer orderer;
+    private final MoveList moveList = new MoveList();
+    private final int[] scores = new int[256];
+    private final int[] refutations = new int[3];
+    private MoveList legalityBuffer;
+    private IBoard board;
+    private int hashMove;
+    private boolean quietsWanted;
+    private int stage;
+    private int picked;
+    private int refutationIndex;
+
+    /**
+     * Creates a picker that orders the quiet moves only by the order they are generated in
+     */
+    public MovePicker() {
+        this(null);
+    }
+
+    /**
+     * @param orderer the tables to order the moves by, shared by the pickers of every ply of a search, or null
+     */
+    public MovePicker(MoveOrderer orderer) {
+        this.orderer = orderer;
+    }
+
+    /**
+     * Prepares the picker for a new position where every move is wanted
+     *
+     * @param board the board to pick moves for
+     * @param hashMove the best move found in an earlier search of the position, or NO_MOVE
+     * @param ply the distance from the root of the position, which selects the killer moves
+     * @param previousMove the move that led to the position, which selects the countermove, or NO_MOVE at the root
+     */
+    public void reset(IBoard board, int hashMove, int ply, int previousMove) {
+        this.board = board;
+        this.hashMove = hashMove;
+        quietsWanted = true;
+        stage = HASH_MOVE_STAGE;
+        moveList.clear();
+        picked = 0;
+        refutationIndex = 0;
+        refutations[0] = (orderer == null) ? NO_MOVE : orderer.getKiller(ply, 0);
+        refutations[1] = (orderer == null) ? NO_MOVE : orderer.getKiller(ply, 1);
+        refutations[2] = (orderer == null) ? NO_MOVE : orderer.getCounterMove(board, previousMove);
+    }
+
+    /**
+     * Prepares the picker for a new position where only the captures and promotions are wanted, as in a quiescence search
+     *
+     * @param board the board to pick moves for
+     */
+    public void resetCaptures(IBoard board) {
+        this.board = board;
+        hashMove = NO_MOVE;
+        quietsWanted = false;
+        stage = GENERATE_CAPTURE_STAGE;
+        moveList.clear();
+        picked = 0;
+    }
+
+    /**
+     * @return the next legal move, or {@link Move#NO_MOVE} when every move has been returned
+     */
+    public int nextMove() {
+        while (true) {
+            switch (stage) {
+                case HASH_MOVE_STAGE:
+                    stage = GENERATE_CAPTURE_STAGE;
+                    if (hashMove != NO_MOVE && isLegal(hashMove)) return hashMove;
+                    hashMove = NO_MOVE;
+                    break;
+                case GENERATE_CAPTURE_STAGE:
+                    fillMoves(LegalMoveGenerator.CAPTURES | LegalMoveGenerator.PROMOTIONS, true);
+                    stage = CAPTURE_STAGE;
+                    break;
+                case CAPTURE_STAGE: {
+                    int move = pickNextMove();
+                    if (move != NO_MOVE) return move;
+                    stage = quietsWanted ? REFUTATION_STAGE : DONE;
+                    break;
+                }
+                case REFUTATION_STAGE: {
+                    int move = pickNextRefutation();
+                    if (move != NO_MOVE) return move;
+                    stage = GENERATE_QUIET_STAGE;
+                    break;
+                }
+                case GENERATE_QUIET_STAGE:
+                    fillMoves(LegalMoveGenerator.QUIETS, false);
+                    stage = QUIET_STAGE;
+                    break;
+                case QUIET_STAGE: {
+                    int move = pickNextMove();
+                    if (move != NO_MOVE) return move;
+                    stage = DONE;
+                    break;
+                }
+                default:
+                    return NO_MOVE;
+            }
+        }
+    }
+
+    private void fillMoves(int kinds, boolean captures) {
+        moveList.clear();
+        picked = 0;
+        LegalMoveGenerator.fetchLegalMoves(board, kinds, moveList);
+        for (int i = 0; i < moveList.size(); i++) {
+            int move = moveList.get(i);
+            if (captures) scores[i] = MoveOrderer.scoreCapture(board, move);
+            else scores[i] = (orderer == null) ? 0 : orderer.getHistoryScore(board, move);
+        }
+    }
+
+    /**
+     * Hands out the best scored of the moves of the stage not handed out yet, the first generated of them on a tie, skipping
+     * moves that were handed out in an earlier stage
+     */
+    private int pickNextMove() {
+        int size = moveList.size();
+        while (picked < size) {
+            int best = -1;
+            for (int i = 0; i < size; i++) {
+                if (scores[i] != PICKED && (best < 0 || scores[i] > scores[best])) best = i;
+            }
+            scores[best] = PICKED;
+            picked++;
+            int move = moveList.get(best);
+            if (move != hashMove && !(stage == QUIET_STAGE && isRefutation(move))) return move;
+        }
+        return NO_MOVE;
+    }
+
+    /**
+     * Hands out the next killer move or countermove that is a legal quiet move and has not been handed out already. The ones
+     * that are not handed out are removed, so that the quiet stage does not skip them
+     */
+    private int pickNextRefutation() {
+        while (refutationIndex < refutations.length) {
+            int i = refutationIndex++;
+            int move = refutations[i];
+            if (move != NO_MOVE && move != hashMove && !isEarlierRefutation(move, i) && MoveOrderer.isQuiet(board, move)
+                    && isLegal(move)) return move;
+            refutations[i] = NO_MOVE;
+        }
+        return NO_MOVE;
+    }
+
+    /**
+     * The buffer is only created once a move has to be tested, so a picker that is never given a hash move or an orderer
+     * does not hold one
+     */
+    private boolean isLegal(int move) {
+        if (legalityBuffer == null) legalityBuffer = new MoveList();
+        return LegalMoveGenerator.isLegalMove(board, move, legalityBuffer);
+    }
+
+    private boolean isEarlierRefutation(int move, int end) {
+        for (int i = 0; i < end; i++) {
+            if (refutations[i] == move) return true;
+        }
+        return false;
+    }
+
+    private boolean isRefutation(int move) {
+        return isEarlierRefutation(move, refutations.length);
+    }
+}
@@ -0,0 +1,354 @@
+package mindchess.model.engine;
+
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import mindchess.model.enums.ChessColor;
+
+import static mindchess.model.Move.NO_MOVE;
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+
+/**
+ * Finds the best move of a position with a negamax search with alpha-beta pruning, followed by a quiescence search of the
+ * captures and promotions so that no position is scored in the middle of an exchange. A side in check in the quiescence search
+ * searches every move out of check, so a mate at the horizon is scored as a mate.
+ * <p>
+ * The search makes and unmakes the moves on the board it is given, so no positions are copied, and the board is left as it
+ * was when the search returns. The moves of every ply come from a MovePicker kept for that ply, which hands out the hash move,
+ * the captures by most valuable victim and least valuable attacker, the killer moves and countermove and last the quiet moves
+ * by their history, and does not allocate while searching. The quiet moves that cause cutoffs are recorded in a MoveOrderer
+ * shared by the pickers. The results of searched positions can be kept in a TranspositionTable, which gives the best move to
+ * try first and often the score itself when a position is reached again. The quiescence search skips captures that cannot
+ * bring the score up to alpha.
+ * <p>
+ * The search deepens one ply at a time and stops when it has visited a given number of nodes or when a given time has passed.
+ * The best move of the deepest depth that was searched to the end is then returned.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class Search {
+    /**
+     * The score of being checkmated at the root. A mate found n plies from the root scores MATE_SCORE - n
+     */
+    public static final int MATE_SCORE = 30000;
+    private static final int INFINITY = 32000;
+    static final int MAX_PLY = 64;
+    private static final int NODES_BETWEEN_TIME_CHECKS = 1024;
+    /**
+     * How many times the soft time limit a search may go on for while the best move changes from one depth to the next
+     */
+    private static final int UNSTABLE_FACTOR = 2;
+    /**
+     * How much a capture may gain besides the value of the taken piece, through the square tables, before it is skipped
+     */
+    private static final int DELTA_MARGIN = 200;
+
+    private final IBoard board;
+    private final TranspositionTable table;
+    private final MoveOrderer moveOrderer = new MoveOrderer();
+    private final MovePicker[] movePickers = new MovePicker[MAX_PLY];
+    private final int[] playedMoves = new int[MAX_PLY];
+    private long nodeCount;
+    private long maxNodes;
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+
+    /**
+     * @param board the board to search, which is changed during the search but restored before it returns
+     */
+    public Search(IBoard board) {
+        this(board, null);
+    }
+
+    /**
+     * @param board the board to search, which is changed during the search but restored before it returns
+     * @param table the table to keep the results of searched positions in, which may be shared with other searches, or null.
+     *              The owner of the table calls {@link TranspositionTable#newSearch()} once before the searches of a new move
+     */
+    public Search(IBoard board, TranspositionTable table) {
+        this.board = board;
+        this.table = table;
+        for (int i = 0; i < MAX_PLY; i++) {
+            movePickers[i] = new MovePicker(moveOrderer);
+        }
+    }
+
+    /**
+     * Searches the position on the board to a fixed depth, or until the node or time budget runs out
+     *
+     * @param depth the number of plies to search before the quiescence search, at least 1
+     * @param maxNodes the number of nodes to visit before stopping
+     * @param maxMillis the number of milliseconds to search before stopping
+     * @return the best move found, or NO_MOVE if the side to move has no legal moves
+     */
+    public int findBestMove(int depth, long maxNodes, long maxMillis) {
+        return findBestMove(depth, maxNodes, maxMillis, maxMillis);
+    }
+
+    /**
+     * Searches the position with iterative deepening, one ply deeper at a time, starting every new depth with the best move of
+     * the previous one. No new depth is started after the soft time limit, which is doubled while the best move keeps changing
+     * between depths, and the search is stopped at the hard time limit.
+     * <p>
+     * A depth that is stopped before it is done only replaces the best move if one of its root moves was searched to the end.
+     * The best move of the previous depth is searched first, so a move that beats it in the stopped depth is still better.
+     *
+     * @param maxDepth the deepest depth to search to
+     * @param maxNodes the number of nodes to visit before stopping
+     * @param softMillis the number of milliseconds after which no new depth is started
+     * @param hardMillis the number of milliseconds after which the search is stopped
+     * @return the best move found, or NO_MOVE if the side to move has no legal moves
+     */
+    public int findBestMove(int maxDepth, long maxNodes, long softMillis, long hardMillis) {
+        return findBestMove(1, maxDepth, maxNodes, softMillis, hardMillis);
+    }
+
+    /**
+     * Searches the position with iterative deepening from a given depth, which lets the helper threads of a parallel search
+     * start at different depths
+     *
+     * @param startDepth the first depth to search to
+     * @param maxDepth the deepest depth to search to
+     * @param maxNodes the number of nodes to visit before stopping
+     * @param softMillis the number of milliseconds after which no new depth is started
+     * @param hardMillis the number of milliseconds after which the search is stopped
+     * @return the best move found, or NO_MOVE if the side to move has no legal moves
+     */
+    int findBestMove(int startDepth, int maxDepth, long maxNodes, long softMillis, long hardMillis) {
+        long start = System.nanoTime();
+        this.maxNodes = maxNodes;
+        this.deadline = start + hardMillis * 1_000_000;
+        nodeCount = 0;
+        stopped = false;
+        completedDepth = 0;
+        bestMove = NO_MOVE;
+        bestScore = -INFINITY;
+        moveOrderer.newSearch();
+        if (table != null) {
+            int hashMove = TranspositionTable.getMove(table.probe(board.getPositionKey()));
+            if (hashMove != NO_MOVE && LegalMoveGenerator.isLegalMove(board, hashMove)) bestMove = hashMove;
+        }
+
+        for (int depth = startDepth; depth <= maxDepth; depth++) {
+            int previousBestMove = bestMove;
+            int rootMoveCount = searchRoot(depth);
+            if (stopped) break;
+            completedDepth = depth;
+            if (table != null) table.store(board.getPositionKey(), bestMove, toTableScore(bestScore, 0), depth, TranspositionTable.EXACT);
+
+            if (rootMoveCount <= 1 || Math.abs(bestScore) >= MATE_SCORE - MAX_PLY) break;
+            long softLimit = (depth > startDepth && bestMove != previousBestMove) ? softMillis * UNSTABLE_FACTOR : softMillis;
+            if (System.nanoTime() - start >= softLimit * 1_000_000) break;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches every root move to the depth and keeps the best of those that were searched to the end
+     *
+     * @return the number of legal root moves
+     */
+    private int searchRoot(int depth) {
+        MovePicker movePicker = movePickers[0];
+        movePicker.reset(board, bestMove, 0, NO_MOVE);
+        int rootMoveCount = 0;
+        int iterationBestMove = NO_MOVE;
+        int alpha = -INFINITY;
+        for (int move = movePicker.nextMove(); move != NO_MOVE; move = movePicker.nextMove()) {
+            rootMoveCount++;
+            if (bestMove == NO_MOVE) bestMove = move;
+            playedMoves[0] = move;
+            long undo = board.makeMove(move);
+            int score = -negamax(depth - 1, -INFINITY, -alpha, 1);
+            board.unmakeMove(move, undo);
+            if (stopped) break;
+            if (score > alpha) {
+                alpha = score;
+                iterationBestMove = move;
+            }
+        }
+        if (iterationBestMove != NO_MOVE) {
+            bestMove = iterationBestMove;
+            bestScore = alpha;
+        }
+        return rootMoveCount;
+    }
+
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if (depth <= 0 || ply >= MAX_PLY - 1) return quiescence(alpha, beta, ply);
+        if (isOutOfBudget()) return 0;
+        if (isDrawByRule()) return 0;
+
+        long key = 0;
+        int hashMove = NO_MOVE;
+        if (table != null) {
+            key = board.getPositionKey();
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                hashMove = TranspositionTable.getMove(entry);
+                if (TranspositionTable.getDepth(entry) >= depth) {
+                    int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+                    int bound = TranspositionTable.getBound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) return score;
+                }
+            }
+        }
+
+        MovePicker movePicker = movePickers[ply];
+        int previousMove = playedMoves[ply - 1];
+        movePicker.reset(board, hashMove, ply, previousMove);
+        boolean hasLegalMove = false;
+        int bestMoveHere = NO_MOVE;
+        int originalAlpha = alpha;
+        for (int move = movePicker.nextMove(); move != NO_MOVE; move = movePicker.nextMove()) {
+            hasLegalMove = true;
+            playedMoves[ply] = move;
+            long undo = board.makeMove(move);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove(move, undo);
+            if (stopped) return 0;
+            if (score >= beta) {
+                moveOrderer.recordCutoff(board, move, previousMove, ply, depth);
+                if (table != null) table.store(key, move, toTableScore(beta, ply), depth, TranspositionTable.LOWER_BOUND);
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMoveHere = move;
+            }
+        }
+
+        if (!hasLegalMove) return isInCheck() ? -MATE_SCORE + ply : 0;
+        if (table != null) {
+            int bound = (alpha > originalAlpha) ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+            table.store(key, bestMoveHere, toTableScore(alpha, ply), depth, bound);
+        }
+        return alpha;
+    }
+
+    /**
+     * Mate scores are counted from the root, but stored counted from the position, so that they are right when the position
+     * is reached at another ply
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) return score + ply;
+        if (score <= -MATE_SCORE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) return score - ply;
+        if (score <= -MATE_SCORE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    /**
+     * Searches only the captures and promotions until the position is quiet. The side to move may also choose not to take
+     * anything, so the static score is a lower bound of the score of the position, unless it is in check
+     */
+    private int quiescence(int alpha, int beta, int ply) {
+        if (isOutOfBudget()) return 0;
+        if (ply < MAX_PLY - 1 && isInCheck()) return searchEvasions(alpha, beta, ply);
+
+        int standPat = EvaluationUtil.evaluate(board);
+        if (standPat >= beta || ply >= MAX_PLY - 1) return standPat;
+        if (standPat > alpha) alpha = standPat;
+
+        MovePicker movePicker = movePickers[ply];
+        movePicker.resetCaptures(board);
+        for (int move = movePicker.nextMove(); move != NO_MOVE; move = movePicker.nextMove()) {
+            if (Move.getPromotionPieceType(move) == null
+                    && standPat + MoveOrderer.fetchVictimValue(board, move) + DELTA_MARGIN <= alpha) continue;
+
+            long undo = board.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove(move, undo);
+            if (stopped) return 0;
+            if (score >= beta) return beta;
+            if (score > alpha) alpha = score;
+        }
+        return alpha;
+    }
+
+    /**
+     * A side in check in the quiescence search may not stand pat or skip moves by the delta margin, since the static score
+     * does not see the check. Every move out of check is searched instead, and a position without one is mate
+     */
+    private int searchEvasions(int alpha, int beta, int ply) {
+        MovePicker movePicker = movePickers[ply];
+        movePicker.reset(board, NO_MOVE, ply, NO_MOVE);
+        boolean hasLegalMove = false;
+        for (int move = movePicker.nextMove(); move != NO_MOVE; move = movePicker.nextMove()) {
+            hasLegalMove = true;
+            long undo = board.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove(move, undo);
+            if (stopped) return 0;
+            if (score >= beta) return beta;
+            if (score > alpha) alpha = score;
+        }
+        return hasLegalMove ? alpha : -MATE_SCORE + ply;
+    }
+
+    /**
+     * Stops a search that is running on another thread as soon as possible. The search returns the best move it has found,
+     * and every later search of this Search stops right away until clearStop is called
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Lets the search run again after it has been stopped. Called before the search is handed to another thread, so that a
+     * stop that comes before the search has started is not lost
+     */
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    private boolean isOutOfBudget() {
+        nodeCount++;
+        if (nodeCount >= maxNodes
+                || (nodeCount % NODES_BETWEEN_TIME_CHECKS == 0 && (stopRequested || System.nanoTime() >= deadline))) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private boolean isDrawByRule() {
+        return board.fetchRepetitionCount() > 0 || board.getPositionState().getHalfmoveClock() >= 100;
+    }
+
+    private boolean isInCheck() {
+        ChessColor sideToMove = board.getPositionState().getSideToMove();
+        return board.isSquareAttacked(board.fetchKingSquare(sideToMove), sideToMove == WHITE ? BLACK : WHITE);
+    }
+
+    /**
+     * @return the number of positions visited by the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the deepest depth the last search was done with
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the score of the best move of the last search, from the point of view of the side to move
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+}
@@ -0,0 +1,56 @@
+package mindchess.model.engine;
+
+/**
+ * Util class that decides how long the search may think about a move, given the time left on the clock of the player.
+ * <p>
+ * The time left is shared evenly between the moves the game is expected to last, which gives the soft limit: no new search
+ * depth is started after it has passed. The hard limit is a few times the soft limit, but never more than a fraction of the
+ * time left, and the search is stopped when it is reached, so that a player always has time left for its next moves.
+ * <p>
+ * The clock only counts whole seconds and is decremented once per second while it runs, so a clock showing n seconds may have
+ * as little as n - 1 seconds left. That second and a margin for making the move are never used.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class TimeManagementUtil {
+    /**
+     * The fewest moves the game is expected to last, however far it has come
+     */
+    private static final int MIN_MOVES_TO_GO = 20;
+    /**
+     * The number of moves a game is expected to last from the start
+     */
+    private static final int EXPECTED_GAME_LENGTH = 45;
+    private static final long MOVE_OVERHEAD_MILLIS = 300;
+    private static final long MIN_SEARCH_MILLIS = 10;
+    private static final int HARD_LIMIT_FACTOR = 4;
+    private static final int MAX_FRACTION_OF_TIME_LEFT = 5;
+
+    private TimeManagementUtil() {
+    }
+
+    /**
+     * @param remainingSeconds the time left on the clock of the player to move
+     * @param fullmoveNumber the number of the move in the game, starting at 1
+     * @return the number of milliseconds after which no new search depth is started
+     */
+    public static long fetchSoftLimitMillis(int remainingSeconds, int fullmoveNumber) {
+        int movesToGo = Math.max(MIN_MOVES_TO_GO, EXPECTED_GAME_LENGTH - fullmoveNumber);
+        return Math.max(MIN_SEARCH_MILLIS, fetchUsableMillis(remainingSeconds) / movesToGo);
+    }
+
+    /**
+     * @param remainingSeconds the time left on the clock of the player to move
+     * @param fullmoveNumber the number of the move in the game, starting at 1
+     * @return the number of milliseconds after which the search is stopped
+     */
+    public static long fetchHardLimitMillis(int remainingSeconds, int fullmoveNumber) {
+        long hardLimit = Math.min(fetchSoftLimitMillis(remainingSeconds, fullmoveNumber) * HARD_LIMIT_FACTOR,
+                fetchUsableMillis(remainingSeconds) / MAX_FRACTION_OF_TIME_LEFT);
+        return Math.max(MIN_SEARCH_MILLIS, hardLimit);
+    }
+
+    private static long fetchUsableMillis(int remainingSeconds) {
+        return Math.max(0, (remainingSeconds - 1) * 1000L - MOVE_OVERHEAD_MILLIS);
+    }
+}
@@ -0,0 +1,182 @@
+package mindchess.model.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A fixed size table of search results indexed by the 64-bit position key, which can be shared by several search threads
+ * without locking.
+ * <p>
+ * Every entry is two longs: the data, which packs the best move, the score, the depth, the bound and the search generation,
+ * and the key XOR the data. Each long is written and read atomically, but a writer on another thread may have written one of
+ * them and not yet the other. An entry is therefore only used if its first long XOR its data gives back the key of the
+ * position, which fails both for another position and for an entry that is half written.
+ * <p>
+ * The entries are grouped two by two in buckets. The first slot of a bucket keeps the deepest result, which saved the most
+ * work, and is only replaced by a result at least as deep or by a result of a newer search. Every other result is written to
+ * the second slot, so recent results are always kept as well.
+ * <p>
+ * The table can be stored off the Java heap in direct buffers, so that a table of several gigabytes neither counts against the
+ * heap size nor has to be scanned by the garbage collector. The storage is split in chunks of at most one gigabyte.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TranspositionTable {
+    /**
+     * Returned by probe when the position is not in the table. No stored entry is zero, since the bound is never zero
+     */
+    public static final long NO_ENTRY = 0;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int MOVE_BITS = 17;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + 16;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int CHUNK_SHIFT = 27;
+    private static final long LONGS_PER_CHUNK = 1L << CHUNK_SHIFT;
+
+    private static final VarHandle BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle ARRAY_LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final boolean offHeap;
+    private final ByteBuffer[] bufferChunks;
+    private final long[][] arrayChunks;
+    private final long bucketMask;
+    private volatile int generation;
+
+    /**
+     * @param megabytes the size of the table, rounded down to a power of two number of buckets
+     * @param offHeap true to store the table in direct buffers outside the Java heap
+     */
+    public TranspositionTable(int megabytes, boolean offHeap) {
+        if (megabytes < 1) throw new IllegalArgumentException("The table needs at least one megabyte");
+        long buckets = Long.highestOneBit(megabytes * 1024L * 1024L / BYTES_PER_BUCKET);
+        long longs = buckets * LONGS_PER_BUCKET;
+        int chunkCount = (int) Math.max(1, longs >>> CHUNK_SHIFT);
+        int longsPerChunk = (int) Math.min(longs, LONGS_PER_CHUNK);
+
+        this.offHeap = offHeap;
+        this.bucketMask = buckets - 1;
+        if (offHeap) {
+            bufferChunks = new ByteBuffer[chunkCount];
+            arrayChunks = null;
+            for (int i = 0; i < chunkCount; i++) {
+                bufferChunks[i] = ByteBuffer.allocateDirect(longsPerChunk * Long.BYTES).order(ByteOrder.nativeOrder());
+            }
+        } else {
+            bufferChunks = null;
+            arrayChunks = new long[chunkCount][longsPerChunk];
+        }
+    }
+
+    /**
+     * Starts a new search, after which the results of earlier searches are the first to be replaced
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * @param key the position key
+     * @return the entry of the position, to be read with the static getters, or NO_ENTRY if the position is not in the table
+     */
+    public long probe(long key) {
+        long index = (key & bucketMask) * LONGS_PER_BUCKET;
+        for (int slot = 0; slot < LONGS_PER_BUCKET; slot += 2) {
+            long data = getLong(index + slot + 1);
+            if ((getLong(index + slot) ^ data) == key && data != NO_ENTRY) return data;
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores the result of a search of a position. If the position is already in the table and no move is given, the move
+     * that was stored before is kept
+     *
+     * @param key the position key
+     * @param move the best move, or NO_MOVE
+     * @param score the score, between -32768 and 32767
+     * @param depth the depth the position was searched to, between 0 and 255
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        long index = (key & bucketMask) * LONGS_PER_BUCKET;
+        long deepData = getLong(index + 1);
+        boolean deepSlotHasPosition = (getLong(index) ^ deepData) == key;
+        boolean replaceDeepSlot = deepSlotHasPosition || depth >= getDepth(deepData) || getGeneration(deepData) != generation;
+        long slotIndex = replaceDeepSlot ? index : index + 2;
+
+        if (move == 0) {
+            long oldData = getLong(slotIndex + 1);
+            if ((getLong(slotIndex) ^ oldData) == key) move = getMove(oldData);
+        }
+
+        long data = (move & ((1L << MOVE_BITS) - 1))
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+        setLong(slotIndex, key ^ data);
+        setLong(slotIndex + 1, data);
+    }
+
+    /**
+     * Removes every entry from the table
+     */
+    public void clear() {
+        long longs = (bucketMask + 1) * LONGS_PER_BUCKET;
+        for (long i = 0; i < longs; i++) {
+            setLong(i, 0L);
+        }
+    }
+
+    /**
+     * @return the number of buckets, each holding two entries
+     */
+    public long getBucketCount() {
+        return bucketMask + 1;
+    }
+
+    public static int getMove(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int getScore(long entry) {
+        return (short) (entry >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    private long getLong(long index) {
+        int chunk = (int) (index >>> CHUNK_SHIFT);
+        int offset = (int) (index & (LONGS_PER_CHUNK - 1));
+        if (offHeap) return (long) BUFFER_LONGS.getOpaque(bufferChunks[chunk], offset * Long.BYTES);
+        return (long) ARRAY_LONGS.getOpaque(arrayChunks[chunk], offset);
+    }
+
+    private void setLong(long index, long value) {
+        int chunk = (int) (index >>> CHUNK_SHIFT);
+        int offset = (int) (index & (LONGS_PER_CHUNK - 1));
+        if (offHeap) BUFFER_LONGS.setOpaque(bufferChunks[chunk], offset * Long.BYTES, value);
+        else ARRAY_LONGS.setOpaque(arrayChunks[chunk], offset, value);
+    }
+}
@@ -1,11 +1,11 @@
 package mindchess.model.enums;
 
 /**
- * Enum for the type of square a Square can be, so that special rules can be applied
+ * Enum for the type of move a piece makes, so that special rules can be applied
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
-public enum SquareType {
+public enum MoveType {
     NORMAL,
     EN_PASSANT,
     CASTLING,
@@ -8,5 +8,6 @@ package mindchess.model.enums;
 public enum PlayerType {
     HUMAN,
     CPU_LEVEL1,
-    CPU_LEVEL2
+    CPU_LEVEL2,
+    CPU_LEVEL3
 }
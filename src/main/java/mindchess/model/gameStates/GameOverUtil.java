@@ -0,0 +1,34 @@
+package mindchess.model.gameStates;
+
+import mindchess.model.*;
+
+/**
+ * Util class used by the states that finish a move, to find out if the move ended the game
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+final class GameOverUtil {
+    private GameOverUtil() {
+    }
+
+    /**
+     * Checks if the opponent of the player who just moved is checkmated or stalemated, or if the game is drawn by
+     * repetition, the 50-move rule or insufficient material
+     *
+     * @param board the board of the current game
+     * @param context the context of the state, whose current player made the move
+     * @return the status of the ended game, or null if the game goes on
+     */
+    static String fetchGameOverStatus(IBoard board, IGameContext context) {
+        if (!LegalMoveGenerator.hasAnyLegalMove(board)) {
+            Square kingSquare = board.fetchKingSquare(board.getPositionState().getSideToMove());
+            if (MovementLogicUtil.isKingInCheck(board, kingSquare, context.getCurrentPlayerColor()))
+                return context.getCurrentPlayerName() + " has won the game";
+            return "Game ended in stalemate";
+        }
+        if (DrawRulesUtil.isThreefoldRepetition(board)) return "Game ended in draw by repetition";
+        if (DrawRulesUtil.isFiftyMoveRule(board)) return "Game ended in draw by the 50-move rule";
+        if (DrawRulesUtil.isInsufficientMaterial(board)) return "Game ended in draw by insufficient material";
+        return null;
+    }
+}
@@ -1,8 +1,11 @@
 package mindchess.model.gameStates;
 
-import mindchess.model.enums.SquareType;
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PieceType;
 import mindchess.model.*;
-import mindchess.model.pieces.IPiece;
+import mindchess.model.engine.LazySmpSearch;
+import mindchess.model.engine.MovePicker;
+import mindchess.model.engine.TimeManagementUtil;
 import mindchess.observers.GameStateObserver;
 
 import java.util.ArrayList;
@@ -19,6 +22,15 @@ import java.util.Random;
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
 public class GameStateAIPlayerTurn implements GameState {
+    private static final int LEVEL3_MAX_DEPTH = 32;
+    private static final long LEVEL3_MAX_NODES = 1_000_000;
+    private static final long LEVEL3_MAX_MILLIS = 2000;
+    /**
+     * Set with -Dmindchess.searchReport=true to print the threads, depth, nodes and speed of every level 3 search, so that the
+     * search thread counts can be compared in real games
+     */
+    private static final boolean SEARCH_REPORT = Boolean.getBoolean("mindchess.searchReport");
+
     private final IGameContext context;
     private final List<GameStateObserver> gameStateObservers = new ArrayList<>();
     private final List<Square> legalSquares;
@@ -26,6 +38,7 @@ public class GameStateAIPlayerTurn implements GameState {
     private final IBoard board;
     private final int difficulty;
     private boolean pawnPromotionMove;
+    private PieceType promotionPieceType;
 
     GameStateAIPlayerTurn(IBoard board, List<Square> legalSquares, List<Ply> plies, IGameContext context, int difficulty) {
         this.board = board;
@@ -44,7 +57,7 @@ public class GameStateAIPlayerTurn implements GameState {
         Square moveFrom = moveSquares.get(0);
         Square moveTo = moveSquares.get(1);
 
-        Square selectedSquare = new Square(moveFrom.getX(), moveFrom.getY());
+        Square selectedSquare = Square.of(moveFrom.getX(), moveFrom.getY());
 
         context.setGameState(GameStateFactory.createGameStatePieceSelected(selectedSquare, board, plies, legalSquares, context));
         gameStateObservers.forEach(context::addGameStateObserver);
@@ -52,7 +65,7 @@ public class GameStateAIPlayerTurn implements GameState {
         context.handleBoardInput(moveTo.getX(), moveTo.getY());
 
         if (pawnPromotionMove) {
-            context.handleBoardInput(20, 0);
+            context.handleBoardInput(fetchPromotionInputX(), 0);
         }
     }
 
@@ -66,40 +79,53 @@ public class GameStateAIPlayerTurn implements GameState {
             return calculateLevel1Move();
         else if (difficulty == 2)
             return calculateLevel2Move();
+        else if (difficulty == 3)
+            return calculateLevel3Move();
         throw new IllegalArgumentException();
     }
 
+    /**
+     * The x coordinate of the input that chooses the promotion piece in the pawn promotion state, a queen unless the move
+     * promotes to another piece
+     *
+     * @return the x coordinate of the promotion choice
+     */
+    private int fetchPromotionInputX() {
+        if (promotionPieceType == null) return 20;
+        return switch (promotionPieceType) {
+            case KNIGHT -> 21;
+            case ROOK -> 22;
+            case BISHOP -> 23;
+            default -> 20;
+        };
+    }
+
     /**
      * Finds a random move among the legal ones for the AI player
      *
      * @return a list with the Squares to move from and to
      */
     private List<Square> calculateLevel1Move() {
-        var allBoardSquares = new ArrayList<>(board.getBoardKeys());
-        Random rand;
+        MoveList moveList = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        return createMoveSquares(moveList.get(new Random().nextInt(moveList.size())));
+    }
 
+    /**
+     * Marks the destination of the move as legal and remembers if the move is a promotion, so that it can be made through the
+     * game states
+     *
+     * @param move the move to make
+     * @return a list with the Squares to move from and to
+     */
+    private List<Square> createMoveSquares(int move) {
         var returnList = new ArrayList<Square>();
-        List<Square> AILegalSquares;
-        Square moveTo;
-
-        while (true) {
-            rand = new Random();
-            Square moveFrom = allBoardSquares.get(rand.nextInt(allBoardSquares.size()));
-            IPiece piece = board.getPieceOnSquare(moveFrom);
-
-            if (piece.getColor() == context.getCurrentPlayerColor()) {
-                AILegalSquares = piece.getMoveDelegate().fetchMoves(board, moveFrom, piece.getHasMoved(), true);
-                legalSquares.addAll(AILegalSquares);
-                if (AILegalSquares.size() > 0) {
-                    moveTo = AILegalSquares.get(rand.nextInt(AILegalSquares.size()));
-                    if (!(moveTo.getSquareType() == SquareType.PROMOTION)) {
-                        returnList.add(moveFrom);
-                        break;
-                    }
-                }
-            }
-        }
+        Square moveTo = Move.getToSquare(move);
+        legalSquares.add(moveTo);
+        pawnPromotionMove = Move.getMoveType(move) == MoveType.PROMOTION;
+        promotionPieceType = Move.getPromotionPieceType(move);
 
+        returnList.add(Move.getFromSquare(move));
         returnList.add(moveTo);
         return returnList;
     }
@@ -108,46 +134,54 @@ public class GameStateAIPlayerTurn implements GameState {
      * Finds a move for the AI to make.
      *   - If there are pieces that the AI could take, it takes the highest valued one
      *   - If not, a move is randomized
+     * Only the captures and promotions are generated unless there are none to take with, in which case the other moves are
+     * generated
      * @return a list with the Squares to move from and to
      */
     private List<Square> calculateLevel2Move() {
-        var returnList = new ArrayList<Square>();
-        var allBoardSquares = new ArrayList<>(board.getBoardKeys());
-        List<Square> AILegalSquares;
         int maxValue = 0;
-        Square moveTo = null;
-        Square moveFrom = null;
-        Random rand = new Random();
-
-        for (Square possibleMoveFrom : allBoardSquares) {
-            IPiece piece = board.getPieceOnSquare(possibleMoveFrom);
-            if (piece.getColor() == context.getCurrentPlayerColor()) {
-                AILegalSquares = piece.getMoveDelegate().fetchMoves(board, possibleMoveFrom, piece.getHasMoved(), true);
-                legalSquares.addAll(AILegalSquares);
-                for (Square possibleMoveTo : AILegalSquares) {
-                    if (board.isAPieceOnSquare(possibleMoveTo)) {
-                        int currentPieceValue = board.getPieceOnSquare(possibleMoveTo).getPieceValue();
-                        if (currentPieceValue > maxValue) {
-                            maxValue = currentPieceValue;
-                            moveTo = possibleMoveTo;
-                            moveFrom = possibleMoveFrom;
-                        }
-                    }
-                }
-                if (maxValue == 0 && AILegalSquares.size() != 0) {
-                    moveFrom = possibleMoveFrom;
-                    moveTo = AILegalSquares.get(rand.nextInt(AILegalSquares.size()));
-                }
+        int bestMove = Move.NO_MOVE;
+
+        MovePicker movePicker = new MovePicker();
+        movePicker.resetCaptures(board);
+        for (int move = movePicker.nextMove(); move != Move.NO_MOVE; move = movePicker.nextMove()) {
+            Square possibleMoveTo = Move.getToSquare(move);
+            boolean enPassant = Move.getMoveType(move) == MoveType.EN_PASSANT;
+            if (!enPassant && !board.isAPieceOnSquare(possibleMoveTo)) continue;
+            // En passant leaves the destination empty, the taken piece is then a pawn
+            int currentPieceValue = enPassant ? 1 : board.getPieceOnSquare(possibleMoveTo).getPieceValue();
+            if (currentPieceValue > maxValue) {
+                maxValue = currentPieceValue;
+                bestMove = move;
             }
         }
 
-        assert moveTo != null;
-        pawnPromotionMove = moveTo.getSquareType().equals(SquareType.PROMOTION);
+        if (bestMove == Move.NO_MOVE) {
+            MoveList moveList = new MoveList();
+            LegalMoveGenerator.fetchLegalMoves(board, moveList);
+            bestMove = moveList.get(new Random().nextInt(moveList.size()));
+        }
 
-        returnList.add(moveFrom);
-        returnList.add(moveTo);
+        return createMoveSquares(bestMove);
+    }
 
-        return returnList;
+    /**
+     * Searches the moves of both players a few moves ahead, with an alpha-beta search that is made on the board of the game.
+     * The search deepens for as long as the time left on the clock allows, but never for more than a budget of nodes and time,
+     * since the game waits for the move. It runs on as many threads as the player is set to search with
+     *
+     * @return a list with the Squares to move from and to
+     */
+    private List<Square> calculateLevel3Move() {
+        int remainingSeconds = context.getCurrentPlayerTime();
+        int fullmoveNumber = board.getPositionState().getFullmoveNumber();
+        long hardMillis = Math.min(LEVEL3_MAX_MILLIS, TimeManagementUtil.fetchHardLimitMillis(remainingSeconds, fullmoveNumber));
+        long softMillis = Math.min(hardMillis, TimeManagementUtil.fetchSoftLimitMillis(remainingSeconds, fullmoveNumber));
+
+        LazySmpSearch search = context.fetchCurrentPlayerSearch();
+        int bestMove = search.findBestMove(LEVEL3_MAX_DEPTH, LEVEL3_MAX_NODES, softMillis, hardMillis);
+        if (SEARCH_REPORT) System.out.println(search.fetchReport());
+        return createMoveSquares(bestMove);
     }
 
     @Override
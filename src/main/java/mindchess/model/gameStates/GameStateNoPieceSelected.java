@@ -1,7 +1,6 @@
 package mindchess.model.gameStates;
 
 import mindchess.model.*;
-import mindchess.model.pieces.IPiece;
 import mindchess.observers.GameStateObserver;
 
 import java.util.ArrayList;
@@ -38,7 +37,8 @@ public class GameStateNoPieceSelected implements GameState {
      */
     @Override
     public void handleInput(int x, int y) {
-        Square selectedSquare = new Square(x, y);
+        if (!Square.isOnBoard(x, y)) return;
+        Square selectedSquare = Square.of(x, y);
         if (SquareContainsAPiece(selectedSquare) && isPieceMyColor(selectedSquare)) {
             fetchLegalMoves(selectedSquare);
             if (legalSquares.size() == 0) return;
@@ -50,27 +50,11 @@ public class GameStateNoPieceSelected implements GameState {
     }
 
     /**
-     * Adds all legal squares the marked piece can move to to the legalSquares list
+     * Adds all legal squares the marked piece can move to to the legalSquares list.
+     * Moves that would leave the king in check are not legal
      */
     private void fetchLegalMoves(Square selectedSquare) {
-        IPiece pieceToCheck = board.fetchPieceOnSquare(selectedSquare);
-        legalSquares.addAll(pieceToCheck.getMoveDelegate().fetchMoves(board, selectedSquare, pieceToCheck.getHasMoved(), true));
-        legalSquares.addAll(getEnPassantSquares(selectedSquare));
-    }
-
-    /**
-     * fetches the squares possible if any for the special move of "en passant"
-     *
-     * @param selectedSquare the currently selected square
-     * @return a list of possible en passant squares
-     */
-    private List<Square> getEnPassantSquares(Square selectedSquare) {
-        List<Square> enPassantPoints = new ArrayList<>();
-        if (plies.size() == 0) return enPassantPoints;
-
-        Ply lastPly = plies.get(plies.size() - 1);
-
-        return MovementLogicUtil.getEnPassantSquares(lastPly, selectedSquare, board);
+        legalSquares.addAll(LegalMoveGenerator.fetchLegalSquares(board, selectedSquare));
     }
 
     /**
@@ -7,14 +7,13 @@ import mindchess.model.pieces.PieceFactory;
 import mindchess.observers.GameStateObserver;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The state which represent when a pawn has reached the opposite side and is able to be promoted to a other piece.
  * <p>
- * From this state you can go to the no piece selected state by promoting the players pawn.
+ * From this state you can go to the no piece selected state by promoting the players pawn,
+ * or to the game over state if the promotion ends the game.
  * <p>
  * Each state has to have a game context, a list of legal moves the current player can make, a list of plies to know what previous move has been made and a board.
  * The pawn promotion state also needs a Square representing the square which the promotion will occur on.
@@ -23,8 +22,6 @@ import java.util.Map;
  */
 public class GameStatePawnPromotion implements GameState {
 
-    private final Map<Square, PieceType> promotionPieces = new HashMap<>();
-
     private final IGameContext context;
     private final Square selectedSquare;
     private final List<GameStateObserver> gameStateObservers = new ArrayList<>();
@@ -50,43 +47,62 @@ public class GameStatePawnPromotion implements GameState {
      */
     @Override
     public void handleInput(int x, int y) {
-        initPromotionPieces();
-        Square selectedPromotion = new Square(x, y);
-        if (promotionPieces.containsKey(selectedPromotion)) {
+        PieceType selectedPromotion = fetchPromotionPieceType(x, y);
+        if (selectedPromotion != null) {
             promote(selectedSquare, selectedPromotion);
             notifyPawnPromotionCleanUp();
-            notifySwitchPlayer();
-            notifyDrawPieces();
+            if (checkGameOver()) {
+                notifyDrawPieces();
+                return;
+            }
+
+            //The state is set before switching player, since switching to a CPU player makes its move and sets the state after that
             context.setGameState(GameStateFactory.createGameStateNoPieceSelected(board, plies, legalSquares, context));
             gameStateObservers.forEach(context::addGameStateObserver);
+            notifySwitchPlayer();
+            notifyDrawPieces();
         }
     }
 
     /**
-     * Puts a piece with a corresponding square with a coded value in a map.
-     * <p>
-     * If the input from handle input matches the key it will return the value which is a piece type
+     * Ends the game if the move checkmated or stalemated the opponent or if the game is drawn by one of the draw rules
+     *
+     * @return true if the game is over
      */
-    private void initPromotionPieces() {
-        promotionPieces.put(new Square(20, 0), PieceType.QUEEN);
-        promotionPieces.put(new Square(21, 0), PieceType.KNIGHT);
-        promotionPieces.put(new Square(22, 0), PieceType.ROOK);
-        promotionPieces.put(new Square(23, 0), PieceType.BISHOP);
+    private boolean checkGameOver() {
+        String gameOverStatus = GameOverUtil.fetchGameOverStatus(board, context);
+        if (gameOverStatus == null) return false;
+
+        context.setGameState(GameStateFactory.createGameStateGameOver(gameOverStatus));
+        return true;
+    }
+
+    /**
+     * The promotion choices are coded as inputs outside the board, from x = 20 to 23 with y = 0
+     *
+     * @param x the horizontal coordinate of the input
+     * @param y the vertical coordinate of the input
+     * @return the piece type the input codes for, or null if the input is not a promotion choice
+     */
+    private PieceType fetchPromotionPieceType(int x, int y) {
+        if (y != 0) return null;
+        return switch (x) {
+            case 20 -> PieceType.QUEEN;
+            case 21 -> PieceType.KNIGHT;
+            case 22 -> PieceType.ROOK;
+            case 23 -> PieceType.BISHOP;
+            default -> null;
+        };
     }
 
     /**
      * The promotion happens by replacing the piece in the promotion square by a new Piece on the same square with a different type
      *
      * @param selectedSquare the currently selected square
-     * @param selectedPromotion the square that represents the selected promotion
+     * @param selectedPromotion the piece type to promote to
      */
-    private void promote(Square selectedSquare, Square selectedPromotion) {
-        IPiece piece;
-        try {
-            piece = PieceFactory.createPiece(promotionPieces.get(selectedPromotion), context.getCurrentPlayerColor());
-        } catch (IllegalArgumentException e) {
-            piece = PieceFactory.createPiece(PieceType.QUEEN, context.getCurrentPlayerColor());
-        }
+    private void promote(Square selectedSquare, PieceType selectedPromotion) {
+        IPiece piece = PieceFactory.createPiece(selectedPromotion, context.getCurrentPlayerColor());
         board.placePieceOnSquare(selectedSquare, piece);
     }
 
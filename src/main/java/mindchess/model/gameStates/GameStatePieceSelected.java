@@ -1,24 +1,24 @@
 package mindchess.model.gameStates;
 
 import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.MoveType;
 import mindchess.model.*;
 import mindchess.model.pieces.IPiece;
 import mindchess.observers.GameStateObserver;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 import static mindchess.model.enums.ChessColor.BLACK;
 import static mindchess.model.enums.ChessColor.WHITE;
-import static mindchess.model.enums.PieceType.KING;
-import static mindchess.model.enums.SquareType.*;
+import static mindchess.model.enums.MoveType.EN_PASSANT;
+import static mindchess.model.enums.MoveType.PROMOTION;
 
 /**
  * The state which represent when a piece has been selected and the next input will try to move the selected piece to the inputted square
  * <p>
  * From this state you can go to the no piece selected state if you make a move or deselects the piece by inputting an invalid input
- * And Game over state if you fulfill a win condition
+ * And Game over state if the move checkmates or stalemates the opponent or draws the game
  * And Pawn promotion if you move a pawn to the opposite side
  * <p>
  * Each state has to have a game context, a list of legal moves the current player can make, a list of plies to know what previous move has been made and a board.
@@ -55,7 +55,8 @@ public class GameStatePieceSelected implements GameState {
      */
     @Override
     public void handleInput(int x, int y) {
-        Square targetSquare = new Square(x, y);
+        if (!Square.isOnBoard(x, y)) return;
+        Square targetSquare = Square.of(x, y);
 
         if (switchSelectedPieceIfSameColor(targetSquare)) return;
 
@@ -98,85 +99,56 @@ public class GameStatePieceSelected implements GameState {
      * @param targetSquare the square to move the selected piece to
      */
     private void targetSquareIsLegal(Square targetSquare) {
-        targetSquare = getLegalSquareByCoordinates(targetSquare.getX(), targetSquare.getY());
-        move(selectedSquare,targetSquare);
+        MoveType moveType = MovementLogicUtil.fetchMoveType(board, selectedSquare, targetSquare);
+        move(selectedSquare, targetSquare, moveType);
         addMoveToPlies(selectedSquare, targetSquare);
         notifyDrawPieces();
 
-        if (checkKingTaken()) {
-            context.setGameState(GameStateFactory.createGameStateGameOver(context.getCurrentPlayerName() + " has won the game"));
-            return;
-        }
-
-        if (checkPawnPromotion(targetSquare)) {
+        if (checkPawnPromotion(moveType)) {
             context.setGameState(GameStateFactory.createGameStatePawnPromotion(targetSquare, board, plies, legalSquares, context));
             gameStateObservers.forEach(context::addGameStateObserver);
             clearAndDrawLegalMoves();
             return;
         }
 
-        notifySwitchPlayer();
-        notifyIfKingInCheck(context.getCurrentPlayerColor());
+        if (checkGameOver()) return;
 
+        //The state is set before switching player, since switching to a CPU player makes its move and sets the state after that
         context.setGameState(GameStateFactory.createGameStateNoPieceSelected(board,plies,legalSquares,context));
         gameStateObservers.forEach(context::addGameStateObserver);
-    }
 
-    private void move(Square selectedSquare, Square targetSquare) {
-        makeSpecialMoves(selectedSquare, targetSquare);
-        makeMoves(selectedSquare, targetSquare);
+        notifySwitchPlayer();
+        notifyIfKingInCheck(context.getCurrentPlayerColor());
     }
 
     /**
-     * Checks if any special moves are possible and if so, performs the necessary actions
+     * Ends the game if the move checkmated or stalemated the opponent or if the game is drawn by one of the draw rules
      *
-     * @param selectedSquare the currently selected square
-     * @param targetSquare the square being moved to
+     * @return true if the game is over
      */
-    private void makeSpecialMoves(Square selectedSquare, Square targetSquare) {
-        if (!board.isAPieceOnSquare(selectedSquare)) return;
-
-        //castling
-        if (targetSquare.getSquareType() == CASTLING) {
-            if (targetSquare.getX() > selectedSquare.getX()) {
-                makeMoves(new Square(targetSquare.getX() + 1, targetSquare.getY()), new Square(targetSquare.getX() - 1, targetSquare.getY()));
-            } else if (targetSquare.getX() < selectedSquare.getX()) {
-                makeMoves(new Square(targetSquare.getX() - 2, targetSquare.getY()), new Square(targetSquare.getX() + 1, targetSquare.getY()));
-            }
-        }
-        //en passant
-        if (targetSquare.getSquareType() == EN_PASSANT) {
-            if (board.pieceOnSquareColorEquals(selectedSquare, WHITE)) {
-                takePiece(new Square(targetSquare.getX(), targetSquare.getY() + 1));
-            } else if (board.pieceOnSquareColorEquals(selectedSquare, BLACK)) {
-                takePiece(new Square(targetSquare.getX(), targetSquare.getY() - 1));
-            }
-        }
-    }
+    private boolean checkGameOver() {
+        String gameOverStatus = GameOverUtil.fetchGameOverStatus(board, context);
+        if (gameOverStatus == null) return false;
 
-    /**
-     * Moves the marked piece to the clicked square
-     * <p>
-     */
-    private void makeMoves(Square moveFrom, Square moveTo) {
-        if (board.isSquareContainsAPiece(moveTo)) {
-            takePiece(moveTo);
-        }
-        board.markPieceOnSquareHasMoved(moveFrom);
-        board.placePieceOnSquare(moveTo, board.getPieceOnSquare(moveFrom));
-        board.removePieceFromSquare(moveFrom);
+        context.setGameState(GameStateFactory.createGameStateGameOver(gameOverStatus));
+        return true;
     }
 
-
     /**
-     * take a piece on a square and put it in dead pieces
+     * Makes the move on the board, which also performs the special rules of castling and en passant.
+     * If a piece is taken it is put in dead pieces by the board
      *
-     * @param squareWithPieceToTake the square that has the piece to be taken
+     * @param selectedSquare the currently selected square
+     * @param targetSquare the square being moved to
+     * @param moveType the type of the move
      */
-    private void takePiece(Square squareWithPieceToTake) {
-        takenPiece = board.removePieceFromSquare(squareWithPieceToTake);
-        board.getDeadPieces().add(takenPiece);
-        notifyDrawDeadPieces();
+    private void move(Square selectedSquare, Square targetSquare, MoveType moveType) {
+        Square takenSquare = (moveType == EN_PASSANT) ? Square.of(targetSquare.getX(), selectedSquare.getY()) : targetSquare;
+        takenPiece = board.fetchPieceOnSquare(takenSquare);
+
+        board.makeMove(Move.create(selectedSquare.getIndex(), targetSquare.getIndex(), moveType));
+
+        if (takenPiece != null) notifyDrawDeadPieces();
     }
 
     private void clearAndDrawLegalMoves() {
@@ -197,26 +169,14 @@ public class GameStatePieceSelected implements GameState {
             notifyKingInCheck(kingSquare.getX(), kingSquare.getY());
     }
 
-    /**
-     * checks if the king has been taken by looking at the dead pieces list
-     *
-     * @return true if king has been taken
-     */
-    private boolean checkKingTaken() {
-        for (IPiece p : board.getDeadPieces()) {
-            if (p.getPieceType().equals(KING)) return true;
-        }
-        return false;
-    }
-
     /**
      * Checks if pawn a pawn is in a position to be promoted
      *
-     * @param targetSquare square to be checked
+     * @param moveType the type of the move that was made
      * @return true if piece cam be promoted
      */
-    private boolean checkPawnPromotion(Square targetSquare) {
-        if (targetSquare.getSquareType() == PROMOTION) {
+    private boolean checkPawnPromotion(MoveType moveType) {
+        if (moveType == PROMOTION) {
             notifyPawnPromotion();
             return true;
         }
@@ -230,26 +190,10 @@ public class GameStatePieceSelected implements GameState {
      * @param targetSquare the square being moved to
      */
     private void addMoveToPlies(Square selectedSquare, Square targetSquare) {
-        Ply ply = new Ply(context.getCurrentPlayerName(), selectedSquare, targetSquare, board.getPieceOnSquare(targetSquare), takenPiece, board.getBoardSnapShot());
+        Ply ply = new Ply(context.getCurrentPlayerName(), selectedSquare, targetSquare, board.getPieceOnSquare(targetSquare), takenPiece, board.fetchBoardSnapshot());
         plies.add(ply);
     }
 
-    /**
-     * returns a square if it matches the coordinates inputted
-     * should never be null so throws exception if null
-     *
-     * @param x the horizontal coordinate to match
-     * @param y the vertical coordinate to match
-     * @return the matching square
-     */
-    private Square getLegalSquareByCoordinates(int x, int y) {
-        for (Square s : legalSquares) {
-            if (s.getX() == x && s.getY() == y)
-                return s;
-        }
-        throw new NoSuchElementException("No legal square with matching coordinates found");
-    }
-
     private void notifyPawnPromotion() {
         for (GameStateObserver gameStateObserver : gameStateObservers) {
             gameStateObserver.notifyPawnPromotionSetup();
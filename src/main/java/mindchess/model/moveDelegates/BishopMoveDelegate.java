@@ -1,23 +1,26 @@
 package mindchess.model.moveDelegates;
 
 import mindchess.model.IBoard;
+import mindchess.model.MoveList;
 import mindchess.model.MovementLogicUtil;
 import mindchess.model.Square;
+import mindchess.model.attackTables.SlidingAttackTables;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Moves diagonally until it is blocked by the edge of the board or a piece, looked up in the bishop table of
+ * SlidingAttackTables
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
 public class BishopMoveDelegate implements IMoveDelegate {
 
     @Override
-    public List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide) {
-        var legalSquares = new ArrayList<Square>();
-
-        legalSquares.addAll(MovementLogicUtil.upLeft(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.upRight(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.downRight(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.downLeft(board, squareToCheck, 7));
+    public void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        MovementLogicUtil.addMovesFromAttacks(board, squareToCheck, fetchAttacks(board, squareToCheck), moveList);
+    }
 
-        return legalSquares;
+    @Override
+    public long fetchAttacks(IBoard board, Square squareToCheck) {
+        return SlidingAttackTables.bishopAttacks(squareToCheck.getIndex(), board.getOccupiedBitboard());
     }
 }
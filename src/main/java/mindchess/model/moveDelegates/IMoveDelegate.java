@@ -1,15 +1,34 @@
 package mindchess.model.moveDelegates;
 
 import mindchess.model.IBoard;
+import mindchess.model.MoveList;
 import mindchess.model.Square;
 
-import java.util.List;
-
 /**
  * Interface for MoveDelegate classes that return the legal moves for each type of piece
+ * <p>
+ * A move delegate has no state of its own, everything it needs is read from the board, so one instance of every delegate is
+ * shared by all pieces
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
 public interface IMoveDelegate {
-    List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide);
+
+    /**
+     * Adds the moves of the piece to the move list, encoded with Move, without creating any objects
+     *
+     * @param board the board of the current game
+     * @param squareToCheck the square with the piece
+     * @param moveList the list to add the moves to
+     */
+    void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList);
+
+    /**
+     * Fast path for move generation and check detection which does not create any squares or lists
+     *
+     * @param board the board of the current game
+     * @param squareToCheck the square with the piece
+     * @return a bitboard of the squares attacked by the piece on the square, including squares occupied by its own color
+     */
+    long fetchAttacks(IBoard board, Square squareToCheck);
 }
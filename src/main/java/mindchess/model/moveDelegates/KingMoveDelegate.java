@@ -2,55 +2,55 @@ package mindchess.model.moveDelegates;
 
 import mindchess.model.enums.ChessColor;
 import mindchess.model.*;
+import mindchess.model.attackTables.LeaperAttackTables;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static mindchess.model.enums.ChessColor.BLACK;
 import static mindchess.model.enums.ChessColor.WHITE;
-import static mindchess.model.enums.SquareType.CASTLING;
-
+import static mindchess.model.enums.MoveType.CASTLING;
+import static mindchess.model.enums.PieceType.ROOK;
+
+/**
+ * Moves one square in any direction using the king table in LeaperAttackTables, and castles when the rules allow it
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
 public class KingMoveDelegate implements IMoveDelegate {
 
     @Override
-    public List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide) {
-        var legalSquares = new ArrayList<Square>();
-
-        legalSquares.addAll(MovementLogicUtil.up(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.right(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.down(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.left(board, squareToCheck, 1));
-
-        legalSquares.addAll(MovementLogicUtil.upLeft(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.upRight(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.downRight(board, squareToCheck, 1));
-        legalSquares.addAll(MovementLogicUtil.downLeft(board, squareToCheck, 1));
-
-        legalSquares.addAll(getCastlingSquares(board, squareToCheck, pieceOnSquareHasMoved));
-
-        if (checkKingSuicide) {
-            ChessColor pieceToMoveColor = MovementLogicUtil.fetchPieceColorOnSquare(board, squareToCheck);
-            ChessColor opponentColor = (pieceToMoveColor == WHITE) ? BLACK : WHITE;
-            List<Square> opponentLegalSquares = MovementLogicUtil.fetchLegalSquaresByColor(board, opponentColor);
-            legalSquares.removeIf(opponentLegalSquares::contains);
-            if (MovementLogicUtil.isKingInCheck(board, squareToCheck, opponentColor))
-                legalSquares.removeIf(p -> p.getSquareType() == CASTLING);
-        }
+    public void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        MovementLogicUtil.addMovesFromAttacks(board, squareToCheck, fetchAttacks(board, squareToCheck), moveList);
+        addCastlingMoves(board, squareToCheck, moveList);
+    }
 
-        return legalSquares;
+    /**
+     * Whether the king may castle is read from the castling rights in the position state of the board
+     */
+    private void addCastlingMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        int from = squareToCheck.getIndex();
+        if (canCastle(board, squareToCheck, true)) {
+            moveList.add(Move.create(from, from + 2, CASTLING));
+        }
+        if (canCastle(board, squareToCheck, false)) {
+            moveList.add(Move.create(from, from - 2, CASTLING));
+        }
     }
 
-    private List<Square> getCastlingSquares(IBoard board, Square squareToCheck, boolean hasMoved) {
-        List<Square> castlingSquares = new ArrayList<>();
+    /**
+     * Castling is possible if the position state still has the castling right, the king and rook are on their starting
+     * squares and the squares between them are empty. Whether the king passes an attacked square is left to LegalMoveGenerator
+     */
+    private boolean canCastle(IBoard board, Square squareToCheck, boolean kingSide) {
+        ChessColor color = board.fetchPieceOnSquareColor(squareToCheck);
+        int y = (color == WHITE) ? 7 : 0;
+        if (!board.getPositionState().canCastle(color, kingSide) || squareToCheck.getIndex() != y * 8 + 4) return false;
+
+        int rookIndex = y * 8 + (kingSide ? 7 : 0);
+        long between = kingSide ? 0x60L : 0x0EL;
+        return (board.getPieceBitboard(color, ROOK) & (1L << rookIndex)) != 0
+                && (board.getOccupiedBitboard() & (between << (y * 8))) == 0;
+    }
 
-        if (!hasMoved) {
-            if (MovementLogicUtil.checkRightCastling(board, squareToCheck)) {
-                castlingSquares.add(new Square(squareToCheck.getX() + 2, squareToCheck.getY(), CASTLING));
-            }
-            if (MovementLogicUtil.checkLeftCastling(board, squareToCheck)) {
-                castlingSquares.add(new Square(squareToCheck.getX() - 2, squareToCheck.getY(), CASTLING));
-            }
-        }
-        return castlingSquares;
+    @Override
+    public long fetchAttacks(IBoard board, Square squareToCheck) {
+        return LeaperAttackTables.kingAttacks(squareToCheck.getIndex());
     }
 }
@@ -1,30 +1,25 @@
 package mindchess.model.moveDelegates;
 
 import mindchess.model.IBoard;
+import mindchess.model.MoveList;
 import mindchess.model.MovementLogicUtil;
 import mindchess.model.Square;
+import mindchess.model.attackTables.LeaperAttackTables;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Moves in an L shape, read from the precomputed knight table in LeaperAttackTables
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
 public class KnightMoveDelegate implements IMoveDelegate {
 
     @Override
-    public List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide) {
-        var legalSquares = new ArrayList<Square>();
-
-        int x = squareToCheck.getX();
-        int y = squareToCheck.getY();
-
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x + 1, y - 2), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x + 2, y - 1), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x + 2, y + 1), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x + 1, y + 2), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x - 1, y + 2), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x - 2, y + 1), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x - 2, y - 1), squareToCheck, legalSquares);
-        MovementLogicUtil.addSquareIfLegal(board, new Square(x - 1, y - 2), squareToCheck, legalSquares);
+    public void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        MovementLogicUtil.addMovesFromAttacks(board, squareToCheck, fetchAttacks(board, squareToCheck), moveList);
+    }
 
-        return legalSquares;
+    @Override
+    public long fetchAttacks(IBoard board, Square squareToCheck) {
+        return LeaperAttackTables.knightAttacks(squareToCheck.getIndex());
     }
 }
@@ -1,71 +1,97 @@
 package mindchess.model.moveDelegates;
 
 import mindchess.model.IBoard;
-import mindchess.model.MovementLogicUtil;
+import mindchess.model.Move;
+import mindchess.model.MoveList;
+import mindchess.model.PositionState;
 import mindchess.model.Square;
-
-import java.util.ArrayList;
-import java.util.List;
+import mindchess.model.attackTables.LeaperAttackTables;
+import mindchess.model.enums.ChessColor;
 
 import static mindchess.model.enums.ChessColor.BLACK;
 import static mindchess.model.enums.ChessColor.WHITE;
-
+import static mindchess.model.enums.MoveType.EN_PASSANT;
+import static mindchess.model.enums.MoveType.NORMAL;
+import static mindchess.model.enums.MoveType.PROMOTION;
+import static mindchess.model.enums.PieceType.*;
+
+/**
+ * Moves one square forward, two from its starting square, and takes diagonally forward using the pawn table in LeaperAttackTables.
+ * A pawn that reaches the last rank gets one move for every piece it can be promoted to, and en passant is read from the
+ * position state of the board
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
 public class PawnMoveDelegate implements IMoveDelegate {
 
     @Override
-    public List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide) {
-        var legalSquares = new ArrayList<Square>();
-
-        if (board.pieceOnSquareColorEquals(squareToCheck, WHITE)) {
-            legalSquares.addAll(fetchMovesWhitePawn(board, squareToCheck, pieceOnSquareHasMoved));
-        } else if (board.pieceOnSquareColorEquals(squareToCheck, BLACK)) {
-            legalSquares.addAll(fetchMovesBlackPawn(board, squareToCheck, pieceOnSquareHasMoved));
+    public void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        ChessColor color = board.fetchPieceOnSquareColor(squareToCheck);
+        ChessColor opponentColor = (color == WHITE) ? BLACK : WHITE;
+        int forward = (color == WHITE) ? -8 : 8;
+        long occupied = board.getOccupiedBitboard();
+        int from = squareToCheck.getIndex();
+
+        int oneStep = from + forward;
+        if (isEmpty(occupied, oneStep)) {
+            addPawnMove(from, oneStep, moveList);
+
+            int twoSteps = oneStep + forward;
+            if (isOnStartingRank(color, from) && isEmpty(occupied, twoSteps)) {
+                moveList.add(Move.create(from, twoSteps, NORMAL));
+            }
         }
 
-        MovementLogicUtil.checkPawnPromotion(board, squareToCheck, legalSquares);
+        for (long bits = fetchAttacks(board, squareToCheck) & board.getColorBitboard(opponentColor); bits != 0; ) {
+            int to = 63 - Long.numberOfLeadingZeros(bits);
+            addPawnMove(from, to, moveList);
+            bits ^= 1L << to;
+        }
 
-        return legalSquares;
+        addEnPassantMove(board, squareToCheck, color, moveList);
     }
 
-    private List<Square> fetchMovesWhitePawn(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved) {
-        var returnList = new ArrayList<Square>();
-        int x = squareToCheck.getX();
-        int y = squareToCheck.getY();
-
-        if (!MovementLogicUtil.isOccupied(board, new Square(x, y - 1))) {
-            returnList.addAll(MovementLogicUtil.up(board, squareToCheck, 1));
+    /**
+     * A pawn can take en passant if the en passant square of the position state is diagonally in front of it
+     */
+    private void addEnPassantMove(IBoard board, Square squareToCheck, ChessColor color, MoveList moveList) {
+        PositionState positionState = board.getPositionState();
+        int enPassantIndex = positionState.getEnPassantIndex();
+        if (enPassantIndex < 0 || positionState.getSideToMove() != color) return;
 
-            if (!MovementLogicUtil.isOccupied(board, new Square(x, y - 2)) && !pieceOnSquareHasMoved) {
-                MovementLogicUtil.addSquareIfLegal(board, new Square(x, y - 2), squareToCheck, returnList);
-            }
+        if ((fetchAttacks(board, squareToCheck) & (1L << enPassantIndex)) != 0) {
+            moveList.add(Move.create(squareToCheck.getIndex(), enPassantIndex, EN_PASSANT));
         }
-        if (MovementLogicUtil.isOccupied(board, new Square(x + 1, y - 1)))
-            returnList.addAll(MovementLogicUtil.upRight(board, squareToCheck, 1));
-        if (MovementLogicUtil.isOccupied(board, new Square(x - 1, y - 1)))
-            returnList.addAll(MovementLogicUtil.upLeft(board, squareToCheck, 1));
-
-        return returnList;
     }
 
-    private List<Square> fetchMovesBlackPawn(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved) {
-        var returnList = new ArrayList<Square>();
-        int x = squareToCheck.getX();
-        int y = squareToCheck.getY();
-
-        if (!MovementLogicUtil.isOccupied(board, new Square(x, y + 1))) {
-            returnList.addAll(MovementLogicUtil.down(board, squareToCheck, 1));
-
-            if (!MovementLogicUtil.isOccupied(board, new Square(x, y + 2)) && !pieceOnSquareHasMoved) {
-                MovementLogicUtil.addSquareIfLegal(board, new Square(x, y + 2), squareToCheck, returnList);
-            }
+    private void addPawnMove(int from, int to, MoveList moveList) {
+        int y = to >>> 3;
+        if (y == 0 || y == 7) {
+            moveList.add(Move.create(from, to, PROMOTION, QUEEN));
+            moveList.add(Move.create(from, to, PROMOTION, KNIGHT));
+            moveList.add(Move.create(from, to, PROMOTION, ROOK));
+            moveList.add(Move.create(from, to, PROMOTION, BISHOP));
+        } else {
+            moveList.add(Move.create(from, to, NORMAL));
         }
-        if (MovementLogicUtil.isOccupied(board, new Square(x + 1, y + 1)))
-            returnList.addAll(MovementLogicUtil.downRight(board, squareToCheck, 1));
-        if (MovementLogicUtil.isOccupied(board, new Square(x - 1, y + 1)))
-            returnList.addAll(MovementLogicUtil.downLeft(board, squareToCheck, 1));
+    }
 
-        return returnList;
+    /**
+     * A pawn can never move back, so a pawn on its starting rank has not moved and may move two squares
+     */
+    private boolean isOnStartingRank(ChessColor color, int index) {
+        return (index >>> 3) == ((color == WHITE) ? 6 : 1);
     }
 
+    private boolean isEmpty(long occupied, int index) {
+        return index >= 0 && index < 64 && (occupied & (1L << index)) == 0;
+    }
 
+    /**
+     * A pawn only attacks the two squares diagonally in front of it, the squares it can move straight to are not attacked
+     */
+    @Override
+    public long fetchAttacks(IBoard board, Square squareToCheck) {
+        return LeaperAttackTables.pawnAttacks(board.fetchPieceOnSquareColor(squareToCheck).ordinal(), squareToCheck.getIndex());
+    }
 }
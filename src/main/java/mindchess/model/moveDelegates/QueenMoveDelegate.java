@@ -1,27 +1,25 @@
 package mindchess.model.moveDelegates;
 
 import mindchess.model.IBoard;
+import mindchess.model.MoveList;
 import mindchess.model.MovementLogicUtil;
 import mindchess.model.Square;
+import mindchess.model.attackTables.SlidingAttackTables;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Moves like a rook and a bishop combined, so its squares are the rook and bishop attacks of its square put together
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
 public class QueenMoveDelegate implements IMoveDelegate {
-    @Override
-    public List<Square> fetchMoves(IBoard board, Square squareToCheck, boolean pieceOnSquareHasMoved, boolean checkKingSuicide) {
-        var legalSquares = new ArrayList<Square>();
-
-        legalSquares.addAll(MovementLogicUtil.up(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.right(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.down(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.left(board, squareToCheck, 7));
 
-        legalSquares.addAll(MovementLogicUtil.upLeft(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.upRight(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.downRight(board, squareToCheck, 7));
-        legalSquares.addAll(MovementLogicUtil.downLeft(board, squareToCheck, 7));
+    @Override
+    public void fetchMoves(IBoard board, Square squareToCheck, MoveList moveList) {
+        MovementLogicUtil.addMovesFromAttacks(board, squareToCheck, fetchAttacks(board, squareToCheck), moveList);
+    }
 
-        return legalSquares;
+    @Override
+    public long fetchAttacks(IBoard board, Square squareToCheck) {
+        return SlidingAttackTables.queenAttacks(squareToCheck.getIndex(), board.getOccupiedBitboard());
     }
 }
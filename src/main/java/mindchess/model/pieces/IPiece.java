@@ -6,14 +6,13 @@ import mindchess.model.moveDelegates.IMoveDelegate;
 
 /**
  * Interface for Piece
+ * <p>
+ * Pieces are immutable and there is only one piece of every color and type, so pieces can be shared between boards,
+ * snapshots and threads. Two pieces are therefore equal whenever they have the same color and type.
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
 public interface IPiece {
-    boolean getHasMoved();
-
-    void setHasMoved(boolean hasMoved);
-
     ChessColor getColor();
 
     PieceType getPieceType();
@@ -21,4 +20,9 @@ public interface IPiece {
     IMoveDelegate getMoveDelegate();
 
     int getPieceValue();
+
+    /**
+     * @return a number between 0 and 11 that is unique for the color and type of the piece
+     */
+    int getPieceIndex();
 }
@@ -8,13 +8,13 @@ import mindchess.model.moveDelegates.IMoveDelegate;
  * Representation of a piece on the Board.
  * <p>
  * When it is created, it has a color, type and move delegate (which is how it is allowed to move).
+ * A piece never changes, whether it has moved is part of the position state of the board.
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
-class Piece implements IPiece {
+final class Piece implements IPiece {
     private final ChessColor pieceColor;
     private final PieceType pieceType;
-    private boolean hasMoved = false;
     private final IMoveDelegate moveDelegate;
     private final int pieceValue;
 
@@ -25,16 +25,6 @@ class Piece implements IPiece {
         this.pieceValue = pieceValue;
     }
 
-    @Override
-    public boolean getHasMoved() {
-        return hasMoved;
-    }
-
-    @Override
-    public void setHasMoved(boolean hasMoved) {
-        this.hasMoved = hasMoved;
-    }
-
     @Override
     public ChessColor getColor() {
         return pieceColor;
@@ -54,4 +44,9 @@ class Piece implements IPiece {
     public int getPieceValue() {
         return pieceValue;
     }
+
+    @Override
+    public int getPieceIndex() {
+        return pieceColor.ordinal() * 6 + pieceType.ordinal();
+    }
 }
@@ -10,10 +10,48 @@ import static mindchess.model.enums.PieceType.*;
  * Factory to create Pieces.
  * <p>
  * Creates a different piece depending on what PieceType and Color it gets.
+ * <p>
+ * Pieces are immutable flyweights: the twelve pieces, one for every color and type, are created once with shared move
+ * delegates and the same instance is returned every time a piece of that color and type is asked for.
  *
  * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
  */
 public class PieceFactory {
+    private static final IMoveDelegate ROOK_MOVE_DELEGATE = new RookMoveDelegate();
+    private static final IMoveDelegate KNIGHT_MOVE_DELEGATE = new KnightMoveDelegate();
+    private static final IMoveDelegate BISHOP_MOVE_DELEGATE = new BishopMoveDelegate();
+    private static final IMoveDelegate QUEEN_MOVE_DELEGATE = new QueenMoveDelegate();
+    private static final IMoveDelegate KING_MOVE_DELEGATE = new KingMoveDelegate();
+    private static final IMoveDelegate PAWN_MOVE_DELEGATE = new PawnMoveDelegate();
+
+    private static final IPiece[] PIECES = new IPiece[12];
+
+    static {
+        for (ChessColor color : ChessColor.values()) {
+            addPiece(new Piece(color, ROOK, ROOK_MOVE_DELEGATE, 5));
+            addPiece(new Piece(color, KNIGHT, KNIGHT_MOVE_DELEGATE, 3));
+            addPiece(new Piece(color, BISHOP, BISHOP_MOVE_DELEGATE, 3));
+            addPiece(new Piece(color, QUEEN, QUEEN_MOVE_DELEGATE, 9));
+            addPiece(new Piece(color, KING, KING_MOVE_DELEGATE, 100));
+            addPiece(new Piece(color, PAWN, PAWN_MOVE_DELEGATE, 1));
+        }
+    }
+
+    private static void addPiece(IPiece piece) {
+        PIECES[piece.getPieceIndex()] = piece;
+    }
+
+    /**
+     * @param pieceIndex the piece index of the piece, see IPiece.getPieceIndex
+     * @return the shared piece with the index
+     */
+    public static IPiece fetchPiece(int pieceIndex) {
+        return PIECES[pieceIndex];
+    }
+
+    private static IPiece fetchPiece(PieceType pieceType, ChessColor chessColor) {
+        return PIECES[chessColor.ordinal() * 6 + pieceType.ordinal()];
+    }
 
     public static IPiece createPiece(PieceType pieceType, ChessColor chessColor) throws IllegalArgumentException {
         switch (pieceType) {
@@ -45,26 +83,26 @@ public class PieceFactory {
     }
 
     public static IPiece createRook(ChessColor chessColor) {
-        return new Piece(chessColor, ROOK, new RookMoveDelegate(), 5);
+        return fetchPiece(ROOK, chessColor);
     }
 
     public static IPiece createKnight(ChessColor chessColor) {
-        return new Piece(chessColor, KNIGHT, new KnightMoveDelegate(), 3);
+        return fetchPiece(KNIGHT, chessColor);
     }
 
     public static IPiece createBishop(ChessColor chessColor) {
-        return new Piece(chessColor, BISHOP, new BishopMoveDelegate(), 3);
+        return fetchPiece(BISHOP, chessColor);
     }
 
     public static IPiece createQueen(ChessColor chessColor) {
-        return new Piece(chessColor, QUEEN, new QueenMoveDelegate(), 9);
+        return fetchPiece(QUEEN, chessColor);
     }
 
     public static IPiece createKing(ChessColor chessColor) {
-        return new Piece(chessColor, KING, new KingMoveDelegate(), 100);
+        return fetchPiece(KING, chessColor);
     }
 
     public static IPiece createPawn(ChessColor chessColor) {
-        return new Piece(chessColor, PAWN, new PawnMoveDelegate(), 1);
+        return fetchPiece(PAWN, chessColor);
     }
 }
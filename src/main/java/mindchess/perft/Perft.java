@@ -0,0 +1,95 @@
+package mindchess.perft;
+
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import mindchess.model.MoveList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the tree of legal moves from a position to a fixed depth, using make and unmake on one board.
+ * The counts of well known positions are published, so perft both verifies the move generation and measures its speed.
+ * <p>
+ * At the last ply the legal moves are only counted and not made.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class Perft {
+    private static final int MAX_DEPTH = 64;
+
+    private final IBoard board;
+    private final PerftHashTable hashTable;
+    private final MoveList[] moveLists = new MoveList[MAX_DEPTH];
+
+    /**
+     * @param board the board with the position to count from
+     */
+    public Perft(IBoard board) {
+        this(board, 0);
+    }
+
+    /**
+     * @param board the board with the position to count from
+     * @param hashMegabytes the size of the table of counted positions, or 0 to count every position
+     */
+    public Perft(IBoard board, int hashMegabytes) {
+        this.board = board;
+        this.hashTable = (hashMegabytes > 0) ? new PerftHashTable(hashMegabytes) : null;
+        for (int i = 0; i < MAX_DEPTH; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * @param depth the number of plies to count, at least 1
+     * @return the number of positions at the depth
+     */
+    public long countNodes(int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+        long key = 0;
+        if (hashTable != null && depth > 1) {
+            key = board.getPositionKey();
+            long nodes = hashTable.probe(key, depth);
+            if (nodes >= 0) return nodes;
+        }
+
+        MoveList moveList = moveLists[depth - 1];
+        moveList.clear();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        if (depth == 1) return moveList.size();
+
+        long nodes = 0;
+        for (int i = 0; i < moveList.size(); i++) {
+            int move = moveList.get(i);
+            long undo = board.makeMove(move);
+            nodes += countNodes(depth - 1);
+            board.unmakeMove(move, undo);
+        }
+
+        if (hashTable != null) hashTable.store(key, depth, nodes);
+        return nodes;
+    }
+
+    /**
+     * Counts the nodes below every legal move of the position separately, which points out the move that differs when a
+     * count is wrong
+     *
+     * @param depth the number of plies to count, at least 1
+     * @return the number of positions at the depth below every move, in coordinate notation, in the order of generation
+     */
+    public Map<String, Long> divide(int depth) {
+        MoveList rootMoves = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, rootMoves);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            long undo = board.makeMove(move);
+            counts.put(Move.toString(move), (depth == 1) ? 1L : countNodes(depth - 1));
+            board.unmakeMove(move, undo);
+        }
+        return counts;
+    }
+}
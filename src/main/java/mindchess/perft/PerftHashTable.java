@@ -0,0 +1,44 @@
+package mindchess.perft;
+
+/**
+ * A table of node counts of positions already counted, indexed by the position key. Transpositions are common in perft,
+ * so looking up a position and depth before counting it saves most of the work at larger depths.
+ * <p>
+ * Every slot is replaced when a new count is stored. A table is used by one thread only.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+class PerftHashTable {
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param megabytes the size of the table, rounded down to a power of two number of entries
+     */
+    PerftHashTable(int megabytes) {
+        int size = Integer.highestOneBit((int) Math.min(1L << 30, (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY));
+        keys = new long[size];
+        entries = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * @param key the position key
+     * @param depth the depth that was counted
+     * @return the node count, or -1 if the position has not been counted to the depth
+     */
+    long probe(long key, int depth) {
+        int index = (int) key & mask;
+        if (keys[index] != key || (entries[index] & 0xFF) != depth) return -1;
+        return entries[index] >>> 8;
+    }
+
+    void store(long key, int depth, long nodes) {
+        int index = (int) key & mask;
+        keys[index] = key;
+        entries[index] = (nodes << 8) | depth;
+    }
+}
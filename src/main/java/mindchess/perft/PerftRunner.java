@@ -0,0 +1,162 @@
+package mindchess.perft;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import mindchess.model.MoveList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command line runner for perft. Prints the node count below every root move, the total node count, the elapsed time and
+ * the number of nodes per second.
+ * <p>
+ * Usage: {@code java -cp target/classes mindchess.perft.PerftRunner [options]} where the options are
+ * <ul>
+ *     <li>{@code -fen <fen>} the position to count from, the starting position by default</li>
+ *     <li>{@code -position <name>} one of the reference positions, whose known count is checked</li>
+ *     <li>{@code -depth <n>} the number of plies, 5 by default</li>
+ *     <li>{@code -threads <n>} the number of threads the root moves are split between, 1 by default</li>
+ *     <li>{@code -hash <megabytes>} the size of the table of counted positions per thread, none by default</li>
+ *     <li>{@code -all} counts every reference position instead of a single one</li>
+ * </ul>
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public final class PerftRunner {
+    private String fen = FenUtil.STARTING_POSITION;
+    private ReferencePosition referencePosition;
+    private int depth = 5;
+    private int threads = 1;
+    private int hashMegabytes;
+
+    private PerftRunner() {
+    }
+
+    public static void main(String[] args) {
+        PerftRunner runner = new PerftRunner();
+        boolean all = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-fen" -> runner.fen = args[++i];
+                    case "-position" -> runner.referencePosition = ReferencePosition.valueOf(args[++i].toUpperCase());
+                    case "-depth" -> runner.depth = Integer.parseInt(args[++i]);
+                    case "-threads" -> runner.threads = Integer.parseInt(args[++i]);
+                    case "-hash" -> runner.hashMegabytes = Integer.parseInt(args[++i]);
+                    case "-all" -> all = true;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(2);
+        }
+
+        boolean passed = true;
+        if (all) {
+            for (ReferencePosition position : ReferencePosition.values()) {
+                runner.referencePosition = position;
+                passed &= runner.run();
+            }
+        } else {
+            passed = runner.run();
+        }
+        if (!passed) System.exit(1);
+    }
+
+    private boolean run() {
+        String positionFen = (referencePosition != null) ? referencePosition.getFen() : fen;
+        System.out.println("Position: " + positionFen);
+        System.out.println("Depth: " + depth + ", threads: " + threads + ", hash: " + hashMegabytes + " MB");
+
+        long start = System.nanoTime();
+        Map<String, Long> counts;
+        try {
+            counts = divide(positionFen, depth, threads, hashMegabytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long nodes = 0;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Nodes/sec: " + (elapsed == 0 ? 0 : nodes * 1_000_000_000L / elapsed));
+
+        boolean passed = true;
+        if (referencePosition != null && depth <= referencePosition.getMaxDepth()) {
+            long expected = referencePosition.getNodeCount(depth);
+            passed = nodes == expected;
+            System.out.println(referencePosition + ": " + (passed ? "OK" : "MISMATCH, expected " + expected));
+        }
+        System.out.println();
+        return passed;
+    }
+
+    /**
+     * Counts the nodes below every root move of the position, with the root moves split between a number of threads. Every
+     * thread counts on its own board, loaded from the FEN, and with its own table of counted positions.
+     *
+     * @param fen the position to count from
+     * @param depth the number of plies to count, at least 1
+     * @param threads the number of threads to count with
+     * @param hashMegabytes the size of the table of counted positions of every thread, or 0 for none
+     * @return the number of positions at the depth below every root move, in the order of generation
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static Map<String, Long> divide(String fen, int depth, int threads, int hashMegabytes)
+            throws InterruptedException {
+        if (threads <= 1) return new Perft(createBoard(fen), hashMegabytes).divide(depth);
+
+        MoveList rootMoves = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(createBoard(fen), rootMoves);
+
+        ThreadLocal<IBoard> boards = ThreadLocal.withInitial(() -> createBoard(fen));
+        ThreadLocal<Perft> perfts = ThreadLocal.withInitial(() -> new Perft(boards.get(), hashMegabytes));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < rootMoves.size(); i++) {
+                int move = rootMoves.get(i);
+                futures.add(executor.submit(() -> {
+                    IBoard board = boards.get();
+                    long undo = board.makeMove(move);
+                    long nodes = (depth == 1) ? 1 : perfts.get().countNodes(depth - 1);
+                    board.unmakeMove(move, undo);
+                    return nodes;
+                }));
+            }
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < rootMoves.size(); i++) {
+                counts.put(Move.toString(rootMoves.get(i)), futures.get(i).get());
+            }
+            return counts;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static IBoard createBoard(String fen) {
+        IBoard board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, fen);
+        return board;
+    }
+}
@@ -1,11 +1,15 @@
 package mindchess.model;
 
+import mindchess.model.engine.LazySmpSearch;
 import mindchess.model.enums.ChessColor;
 import mindchess.model.enums.PlayerType;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test GameStateAIPlayer class
@@ -49,4 +53,77 @@ public class TestAIPlayer {
 
         assertEquals(ChessColor.BLACK, model.getCurrentGamePlies().get(1).getMovedPiece().getColor());
     }
+
+    @Test
+    public void testAIPlayerLevel3MakesMove() {
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.CPU_LEVEL3, 180);
+
+        model.handleBoardInput(0,6);
+        model.handleBoardInput(0,4);
+
+        assertEquals(ChessColor.BLACK, model.getCurrentGamePlies().get(1).getMovedPiece().getColor());
+        assertEquals(ChessColor.WHITE, model.getCurrentPlayerColor());
+    }
+
+    /**
+     * Tests that the level 3 CPU player answers in time when its clock is almost out
+     */
+    @Test
+    public void testAIPlayerLevel3MovesInTimeWithLittleTimeLeft() {
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.CPU_LEVEL3, 2);
+
+        model.handleBoardInput(4,6);
+        model.handleBoardInput(4,4);
+
+        assertEquals(2, model.getCurrentGamePlies().size());
+        assertEquals(ChessColor.WHITE, model.getCurrentPlayerColor());
+        assertTrue(model.getCurrentBlackTimerTime() > 0);
+    }
+
+    /**
+     * Tests that the level 3 CPU player moves when it is set to search on several threads
+     */
+    @Test
+    public void testAIPlayerLevel3WithSeveralThreads() {
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.CPU_LEVEL3, 2);
+        model.setSearchThreads(ChessColor.BLACK, 2);
+
+        model.handleBoardInput(4,6);
+        model.handleBoardInput(4,4);
+
+        assertEquals(ChessColor.BLACK, model.getCurrentGamePlies().get(1).getMovedPiece().getColor());
+    }
+
+    /**
+     * Tests that every player owns its own transposition table, which is kept between the moves of the player
+     */
+    @Test
+    public void testTranspositionTablePerPlayer() {
+        Player white = new Player("White", ChessColor.WHITE, PlayerType.CPU_LEVEL3, 60);
+        Player black = new Player("Black", ChessColor.BLACK, PlayerType.CPU_LEVEL3, 60);
+
+        assertSame(white.fetchTranspositionTable(), white.fetchTranspositionTable());
+        assertNotSame(white.fetchTranspositionTable(), black.fetchTranspositionTable());
+    }
+
+    /**
+     * Tests that every player keeps its search between its moves, and gets a new one when its number of threads is changed
+     */
+    @Test
+    public void testSearchPerPlayer() {
+        IBoard board = BoardFactory.createBoard();
+        Player white = new Player("White", ChessColor.WHITE, PlayerType.CPU_LEVEL3, 60);
+        Player black = new Player("Black", ChessColor.BLACK, PlayerType.CPU_LEVEL3, 60);
+
+        assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), white.getSearchThreads());
+        LazySmpSearch search = white.fetchSearch(board);
+        assertSame(search, white.fetchSearch(board));
+        assertNotSame(search, black.fetchSearch(board));
+
+        white.setSearchThreads(white.getSearchThreads() + 1);
+        assertNotSame(search, white.fetchSearch(board));
+        assertEquals(white.getSearchThreads(), white.fetchSearch(board).getThreadCount());
+        white.fetchSearch(board).shutdown();
+        black.fetchSearch(board).shutdown();
+    }
 }
@@ -0,0 +1,204 @@
+package mindchess.model;
+
+import mindchess.model.engine.MoveOrderer;
+import mindchess.model.engine.MovePicker;
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PlayerType;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the operations on the hot path of a move stay within their allocation budgets, to catch changes in the model
+ * that make the garbage collector run more often during timed games.
+ * <p>
+ * The bytes allocated by an operation are read from the allocation counter of the current thread, before and after the
+ * operation, and averaged over many runs after the operation has been warmed up. The budgets are in bytes per operation.
+ * Every budget can be overridden with the system property mindchess.allocationBudget.&lt;name&gt;, for example
+ * {@code mvn test -Dmindchess.allocationBudget.aiMove=16384} on a JVM that allocates differently. The budgets of zero fail
+ * on any object created on a path that should not allocate. The others leave room above what was measured on Java 17 with
+ * the default garbage collector, which is noted with each budget, so that only a clear increase fails the test.
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestAllocationBudget {
+    /**
+     * Every legal move of the Kiwipete position, added to a reused move list. Measured: 0 bytes
+     */
+    private static final long LEGAL_MOVES_BUDGET = fetchBudget("legalMoves", 0);
+    /**
+     * The legal squares of the queen on f3 of the Kiwipete position, as fetched by the UI. Measured: 1144 bytes, the
+     * move list and the list of squares
+     */
+    private static final long LEGAL_SQUARES_BUDGET = fetchBudget("legalSquares", 1536);
+    /**
+     * Every move of the Kiwipete position handed out by a reused move picker of the search, starting with a hash move.
+     * Measured: 0 bytes
+     */
+    private static final long PICKED_MOVES_BUDGET = fetchBudget("pickedMoves", 0);
+    /**
+     * Making and unmaking every legal move of the Kiwipete position. Measured: 0 bytes
+     */
+    private static final long MAKE_UNMAKE_BUDGET = fetchBudget("makeUnmake", 0);
+    /**
+     * A human move through the game states, a click on the piece and a click on the destination. Measured: 526 bytes
+     */
+    private static final long PLAYER_MOVE_BUDGET = fetchBudget("playerMove", 2 * 1024);
+    /**
+     * A human move answered by a level 2 CPU player. Measured: 6070 bytes
+     */
+    private static final long AI_MOVE_BUDGET = fetchBudget("aiMove", 8 * 1024);
+
+    private static final int WARMUP_RUNS = 2000;
+    private static final int MEASURED_RUNS = 2000;
+    private static final int GAME_RUNS = 200;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    IBoard board;
+    MoveList moveList;
+
+    @Before
+    public void init() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        moveList = new MoveList();
+    }
+
+    private static long fetchBudget(String name, long defaultBudget) {
+        return Long.getLong("mindchess.allocationBudget." + name, defaultBudget);
+    }
+
+    private long fetchAllocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void assertWithinBudget(String operation, long budget, long allocatedBytes, int runs) {
+        long bytesPerOperation = allocatedBytes / runs;
+        assertTrue(operation + " allocated " + bytesPerOperation + " bytes per operation, the budget is " + budget,
+                bytesPerOperation <= budget);
+    }
+
+    /**
+     * Measures an operation that can be repeated on the same position
+     */
+    private void assertOperationWithinBudget(String operation, long budget, Runnable runnable) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            runnable.run();
+        }
+        long before = fetchAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            runnable.run();
+        }
+        assertWithinBudget(operation, budget, fetchAllocatedBytes() - before, MEASURED_RUNS);
+    }
+
+    /**
+     * Measures the moves of a game, a new game is created for every run and only the moves are measured
+     */
+    private void assertGameMoveWithinBudget(String operation, long budget, PlayerType blackPlayerType) {
+        playGame(blackPlayerType);
+        long allocatedBytes = 0;
+        for (int i = 0; i < GAME_RUNS; i++) {
+            allocatedBytes += playGame(blackPlayerType);
+        }
+        assertWithinBudget(operation, budget, allocatedBytes, GAME_RUNS * 4);
+    }
+
+    private long playGame(PlayerType blackPlayerType) {
+        ChessFacade model = new ChessFacade();
+        model.createNewGame("White", "Black", PlayerType.HUMAN, blackPlayerType, 180);
+        int[][] moves = {{4, 6, 4, 4}, {6, 7, 5, 5}, {5, 7, 2, 4}, {3, 6, 3, 5}};
+        long allocatedBytes = 0;
+        for (int[] move : moves) {
+            long before = fetchAllocatedBytes();
+            model.handleBoardInput(move[0], move[1]);
+            model.handleBoardInput(move[2], move[3]);
+            allocatedBytes += fetchAllocatedBytes() - before;
+        }
+        model.forfeit();
+        return allocatedBytes;
+    }
+
+    /**
+     * Tests that fetching the legal moves into a reused move list does not allocate
+     */
+    @Test
+    public void testLegalMovesBudget() {
+        assertOperationWithinBudget("Legal moves", LEGAL_MOVES_BUDGET, () -> {
+            moveList.clear();
+            LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        });
+    }
+
+    /**
+     * Tests that handing out the moves of a position with a move picker, including the checks of the hash move and the killer
+     * moves, does not allocate
+     */
+    @Test
+    public void testPickedMovesBudget() {
+        MovePicker movePicker = new MovePicker(new MoveOrderer());
+        int hashMove = Move.create(FenUtil.parseSquare("e2").getIndex(), FenUtil.parseSquare("a6").getIndex(), MoveType.NORMAL);
+        assertOperationWithinBudget("Picked moves", PICKED_MOVES_BUDGET, () -> {
+            movePicker.reset(board, hashMove, 0, Move.NO_MOVE);
+            int moveCount = 0;
+            for (int move = movePicker.nextMove(); move != Move.NO_MOVE; move = movePicker.nextMove()) {
+                moveCount++;
+            }
+            assertTrue(moveCount > 0);
+        });
+    }
+
+    /**
+     * Tests the allocations when the UI fetches the legal squares of a piece
+     */
+    @Test
+    public void testLegalSquaresBudget() {
+        Square queenSquare = FenUtil.parseSquare("f3");
+        assertOperationWithinBudget("Legal squares", LEGAL_SQUARES_BUDGET, () -> {
+            List<Square> squares = LegalMoveGenerator.fetchLegalSquares(board, queenSquare);
+            assertTrue(squares.size() > 0);
+        });
+    }
+
+    /**
+     * Tests that making and unmaking moves on the board does not allocate
+     */
+    @Test
+    public void testMakeUnmakeBudget() {
+        moveList.clear();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        assertOperationWithinBudget("Make and unmake", MAKE_UNMAKE_BUDGET, () -> {
+            for (int i = 0; i < moveList.size(); i++) {
+                int move = moveList.get(i);
+                long undo = board.makeMove(move);
+                board.unmakeMove(move, undo);
+            }
+        });
+    }
+
+    /**
+     * Tests the allocations of a move made by a human player through the game states
+     */
+    @Test
+    public void testPlayerMoveBudget() {
+        assertGameMoveWithinBudget("Player move", PLAYER_MOVE_BUDGET, PlayerType.HUMAN);
+    }
+
+    /**
+     * Tests the allocations of a move answered by a CPU player
+     */
+    @Test
+    public void testAIMoveBudget() {
+        assertGameMoveWithinBudget("AI move", AI_MOVE_BUDGET, PlayerType.CPU_LEVEL2);
+    }
+}
@@ -0,0 +1,82 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import mindchess.model.pieces.IPiece;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the incrementally updated attack maps match attack maps computed from scratch
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestAttackMaps {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+    }
+
+    private long computeAttackedSquares(IBoard board, ChessColor color) {
+        long attacks = 0L;
+        for (long bits = board.getColorBitboard(color); bits != 0; bits &= bits - 1) {
+            Square square = Square.of(Long.numberOfTrailingZeros(bits));
+            attacks |= board.fetchPieceOnSquare(square).getMoveDelegate().fetchAttacks(board, square);
+        }
+        return attacks;
+    }
+
+    private void assertAttackMapsCorrect(IBoard board) {
+        assertEquals(computeAttackedSquares(board, WHITE), board.getAttackedSquares(WHITE));
+        assertEquals(computeAttackedSquares(board, BLACK), board.getAttackedSquares(BLACK));
+    }
+
+    /**
+     * Tests the attack maps of the starting position
+     */
+    @Test
+    public void testStartingPosition() {
+        assertEquals(0xFFFF7EL, board.getAttackedSquares(BLACK));
+        assertAttackMapsCorrect(board);
+    }
+
+    /**
+     * Tests that the attack maps stay correct through a long sequence of random moves and when they are unmade again
+     */
+    @Test
+    public void testRandomMovesAndUnmake() {
+        Random random = new Random(42);
+        MoveList moveList = new MoveList();
+        int[] moves = new int[200];
+        long[] undos = new long[200];
+        int plies = 0;
+
+        while (plies < moves.length) {
+            moveList.clear();
+            MovementLogicUtil.fetchMovesByColor(board, board.getPositionState().getSideToMove(), moveList);
+            int move = moveList.get(random.nextInt(moveList.size()));
+            IPiece target = board.fetchPieceOnSquare(Move.getToSquare(move));
+            if (target != null && target.getPieceType() == PieceType.KING) continue;
+
+            moves[plies] = move;
+            undos[plies] = board.makeMove(move);
+            plies++;
+            assertAttackMapsCorrect(board);
+        }
+
+        while (plies > 0) {
+            plies--;
+            board.unmakeMove(moves[plies], undos[plies]);
+            assertAttackMapsCorrect(board);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PlayerType;
+import mindchess.model.pieces.IPiece;
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.enums.PieceType.PAWN;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the board keeps its bitboards and piece array in step
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestBoard {
+    ChessFacade model;
+    IBoard board;
+
+    @Before
+    public void init() {
+        model = new ChessFacade();
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+        board = model.getCurrentBoard();
+    }
+
+    /**
+     * Tests that the pieces are placed on their starting squares
+     */
+    @Test
+    public void testPlaceAllPieces() {
+        assertEquals(32, Long.bitCount(board.getOccupiedBitboard()));
+        assertEquals(0xFFFFL, board.getColorBitboard(ChessColor.BLACK));
+        assertEquals(0xFFFFL << 48, board.getColorBitboard(ChessColor.WHITE));
+        assertEquals(0xFFL << 48, board.getPieceBitboard(ChessColor.WHITE, PAWN));
+        assertEquals(Square.of(4, 7), board.fetchKingSquare(ChessColor.WHITE));
+        assertEquals(Square.of(4, 0), board.fetchKingSquare(ChessColor.BLACK));
+    }
+
+    /**
+     * Tests that the bitboards follow the pieces when they are placed and removed
+     */
+    @Test
+    public void testBitboardsFollowPieces() {
+        IPiece pawn = board.removePieceFromSquare(Square.of(4, 6));
+        board.placePieceOnSquare(Square.of(4, 4), pawn);
+
+        long whitePawns = board.getPieceBitboard(ChessColor.WHITE, PAWN);
+        assertEquals(0, whitePawns & (1L << (6 * 8 + 4)));
+        assertNotEquals(0, whitePawns & (1L << (4 * 8 + 4)));
+        assertEquals(Long.bitCount(board.getOccupiedBitboard()), 32);
+        assertEquals(board.getOccupiedBitboard(), board.getColorBitboard(ChessColor.WHITE) | board.getColorBitboard(ChessColor.BLACK));
+        assertFalse(board.isOccupied(Square.of(4, 6)));
+        assertTrue(board.isOccupied(Square.of(4, 4)));
+    }
+
+    /**
+     * Tests that the color of an empty square is null
+     */
+    @Test
+    public void testEmptySquareHasNoColor() {
+        assertNull(board.fetchPieceOnSquareColor(Square.of(4, 4)));
+        assertEquals(ChessColor.WHITE, board.fetchPieceOnSquareColor(Square.of(4, 6)));
+        assertEquals(ChessColor.BLACK, board.fetchPieceOnSquareColor(Square.of(4, 1)));
+    }
+
+    /**
+     * Tests that clearing the board removes every piece and its attacks, and that a position can be set up again afterwards
+     */
+    @Test
+    public void testClearBoard() {
+        board.makeMove(Move.create(Square.of(4, 6).getIndex(), Square.of(4, 4).getIndex(), MoveType.NORMAL));
+        board.clearBoard();
+
+        assertEquals(0, board.getOccupiedBitboard());
+        assertEquals(0, board.getAttackedSquares(ChessColor.WHITE));
+        assertEquals(0, board.getAttackedSquares(ChessColor.BLACK));
+        assertNull(board.fetchPieceOnSquare(Square.of(4, 4)));
+        assertTrue(board.getDeadPieces().isEmpty());
+
+        IBoard startingBoard = BoardFactory.createBoard();
+        startingBoard.initBoard();
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        assertEquals(startingBoard.getPositionKey(), board.getPositionKey());
+    }
+
+    /**
+     * Tests that a copied position has the same pieces, state, key, attacks and earlier positions as the original
+     */
+    @Test
+    public void testCopyPosition() {
+        int[][] moves = {{6, 7, 5, 5}, {6, 0, 5, 2}, {5, 5, 6, 7}, {5, 2, 6, 0}};
+        for (int[] move : moves) {
+            board.makeMove(Move.create(Square.of(move[0], move[1]).getIndex(), Square.of(move[2], move[3]).getIndex(), MoveType.NORMAL));
+        }
+        IBoard copy = BoardFactory.createBoard();
+        FenUtil.loadFen(copy, "4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        copy.copyPosition(board);
+
+        assertEquals(FenUtil.createFen(board), FenUtil.createFen(copy));
+        assertEquals(board.getPositionKey(), copy.getPositionKey());
+        assertEquals(board.getAttackedSquares(ChessColor.WHITE), copy.getAttackedSquares(ChessColor.WHITE));
+        assertEquals(board.getAttackedSquares(ChessColor.BLACK), copy.getAttackedSquares(ChessColor.BLACK));
+        assertEquals(1, copy.fetchRepetitionCount());
+    }
+}
@@ -0,0 +1,84 @@
+package mindchess.model;
+
+import mindchess.model.enums.PieceType;
+import mindchess.model.enums.PlayerType;
+import mindchess.model.pieces.IPiece;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the snapshots of the board and iterating over the pieces on it
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestBoardSnapshot {
+    ChessFacade model;
+    IBoard board;
+
+    @Before
+    public void init() {
+        model = new ChessFacade();
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+        board = model.getCurrentBoard();
+    }
+
+    /**
+     * Tests that a snapshot does not change when the board does
+     */
+    @Test
+    public void testSnapshotIsCopy() {
+        BoardSnapshot snapshot = board.fetchBoardSnapshot();
+        model.handleBoardInput(4,6);
+        model.handleBoardInput(4,4);
+
+        assertEquals(PieceType.PAWN, snapshot.getPieceOnSquare(Square.of(4, 6)).getPieceType());
+        assertNull(snapshot.getPieceOnSquare(Square.of(4, 4)));
+        assertEquals(32, snapshot.getPieceCount());
+    }
+
+    /**
+     * Tests that every ply keeps the board as it was after the ply
+     */
+    @Test
+    public void testPlySnapshot() {
+        model.handleBoardInput(4,6);
+        model.handleBoardInput(4,4);
+
+        model.handleBoardInput(3,1);
+        model.handleBoardInput(3,3);
+
+        model.handleBoardInput(4,4);
+        model.handleBoardInput(3,3);
+
+        BoardSnapshot afterFirstPly = model.getCurrentGamePlies().get(0).getBoardSnapshot();
+        assertEquals(PieceType.PAWN, afterFirstPly.getPieceOnSquare(Square.of(4, 4)).getPieceType());
+        assertEquals(32, afterFirstPly.getPieceCount());
+        assertEquals(31, model.getCurrentGamePlies().get(2).getBoardSnapshot().getPieceCount());
+        assertEquals(board.fetchBoardSnapshot().toMap(), model.getCurrentGamePlies().get(2).getBoardSnapshot().toMap());
+    }
+
+    /**
+     * Tests that iterating the board visits every piece once, in order of the square index
+     */
+    @Test
+    public void testForEachPiece() {
+        List<Square> squares = new ArrayList<>();
+        List<IPiece> pieces = new ArrayList<>();
+        board.forEachPiece((square, piece) -> {
+            squares.add(square);
+            pieces.add(piece);
+        });
+
+        assertEquals(32, squares.size());
+        assertEquals(Square.of(0, 0), squares.get(0));
+        assertEquals(Square.of(7, 7), squares.get(31));
+        for (int i = 0; i < squares.size(); i++) {
+            assertSame(board.fetchPieceOnSquare(squares.get(i)), pieces.get(i));
+        }
+    }
+}
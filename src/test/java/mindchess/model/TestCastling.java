@@ -33,8 +33,8 @@ public class TestCastling {
         model.handleBoardInput(4,7);
         model.handleBoardInput(6,7);
 
-        assertEquals(board.fetchPieceOnSquare(new Square(5, 7)).getPieceType(), BISHOP);
-        assertEquals(board.fetchPieceOnSquare(new Square(6, 7)).getPieceType(), KNIGHT);
+        assertEquals(board.fetchPieceOnSquare(Square.of(5, 7)).getPieceType(), BISHOP);
+        assertEquals(board.fetchPieceOnSquare(Square.of(6, 7)).getPieceType(), KNIGHT);
     }
 
     /**
@@ -65,8 +65,8 @@ public class TestCastling {
         model.handleBoardInput(4,7);
         model.handleBoardInput(6,7);
 
-        assertEquals(ROOK, board.fetchPieceOnSquare(new Square(5, 7)).getPieceType());
-        assertEquals(KING, board.fetchPieceOnSquare(new Square(6, 7)).getPieceType());
+        assertEquals(ROOK, board.fetchPieceOnSquare(Square.of(5, 7)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(6, 7)).getPieceType());
     }
 
     /**
@@ -109,7 +109,7 @@ public class TestCastling {
         model.handleBoardInput(4,7);
         model.handleBoardInput(6,7);
 
-        assertEquals(KING, board.fetchPieceOnSquare(new Square(4, 7)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(4, 7)).getPieceType());
     }
 
     /**
@@ -152,7 +152,7 @@ public class TestCastling {
         model.handleBoardInput(4,7);
         model.handleBoardInput(6,7);
 
-        assertEquals(KING, board.fetchPieceOnSquare(new Square(4, 7)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(4, 7)).getPieceType());
     }
 
     /**
@@ -183,6 +183,6 @@ public class TestCastling {
         model.handleBoardInput(4,7);
         model.handleBoardInput(6,7);
 
-        assertEquals(KING, board.fetchPieceOnSquare(new Square(4, 7)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(4, 7)).getPieceType());
     }
 }
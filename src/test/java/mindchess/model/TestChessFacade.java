@@ -33,8 +33,8 @@ public class TestChessFacade {
      */
     @Test
     public void testMoveAndPly() {
-        Square p1 = new Square(0,6);
-        Square p2 = new Square(0,5);
+        Square p1 = Square.of(0,6);
+        Square p2 = Square.of(0,5);
 
         IPiece testIPieceBefore = model.getCurrentBoardMap().get(p1);
 
@@ -43,7 +43,7 @@ public class TestChessFacade {
 
         IPiece testIPieceAfter = model.getCurrentBoardMap().get(p2);
 
-        Ply ply = new Ply("", p1,p2, testIPieceAfter,null,model.getCurrentBoardMap());
+        Ply ply = new Ply("", p1,p2, testIPieceAfter,null,model.getCurrentBoard().fetchBoardSnapshot());
 
         assertEquals(testIPieceBefore, testIPieceAfter);
         assertEquals(model.getCurrentGamePlies().get(0).getMovedFrom(), ply.getMovedFrom());
@@ -56,9 +56,9 @@ public class TestChessFacade {
      */
     @Test
     public void testPlaceAllPieces(){
-        assertTrue(board.pieceOnSquareColorEquals(new Square(0,0), ChessColor.BLACK) && board.fetchPieceOnSquare(new Square(0,0)).getPieceType().equals(ROOK));
-        assertTrue(board.pieceOnSquareColorEquals(new Square(6,6), ChessColor.WHITE) && board.fetchPieceOnSquare(new Square(6,6)).getPieceType().equals(PAWN));
-        assertTrue(board.pieceOnSquareColorEquals(new Square(4,7), ChessColor.WHITE) && board.fetchPieceOnSquare(new Square(4,7)).getPieceType().equals(KING));
+        assertTrue(board.pieceOnSquareColorEquals(Square.of(0,0), ChessColor.BLACK) && board.fetchPieceOnSquare(Square.of(0,0)).getPieceType().equals(ROOK));
+        assertTrue(board.pieceOnSquareColorEquals(Square.of(6,6), ChessColor.WHITE) && board.fetchPieceOnSquare(Square.of(6,6)).getPieceType().equals(PAWN));
+        assertTrue(board.pieceOnSquareColorEquals(Square.of(4,7), ChessColor.WHITE) && board.fetchPieceOnSquare(Square.of(4,7)).getPieceType().equals(KING));
     }
 
     /**
@@ -0,0 +1,154 @@
+package mindchess.model;
+
+import mindchess.model.enums.PieceType;
+import mindchess.model.enums.PlayerType;
+import mindchess.model.pieces.PieceFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the rules that end a game in a draw automatically
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestDrawRules {
+    ChessFacade model;
+    IBoard board;
+
+    @Before
+    public void init() {
+        model = new ChessFacade();
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+        board = model.getCurrentBoard();
+    }
+
+    private void moveKnightsOutAndBack() {
+        model.handleBoardInput(6,7);
+        model.handleBoardInput(5,5);
+
+        model.handleBoardInput(6,0);
+        model.handleBoardInput(5,2);
+
+        model.handleBoardInput(5,5);
+        model.handleBoardInput(6,7);
+
+        model.handleBoardInput(5,2);
+        model.handleBoardInput(6,0);
+    }
+
+    private void clearAllButKings() {
+        for (Square square : board.fetchBoardSnapshot().toMap().keySet()) {
+            if (board.fetchPieceOnSquare(square).getPieceType() != PieceType.KING) {
+                board.removePieceFromSquare(square);
+            }
+        }
+    }
+
+    /**
+     * Tests that the game ends in a draw when the same position occurs for the third time
+     */
+    @Test
+    public void testThreefoldRepetition() {
+        moveKnightsOutAndBack();
+        assertEquals(1, board.fetchRepetitionCount());
+        assertTrue(model.isGameOngoing());
+
+        moveKnightsOutAndBack();
+        assertEquals(2, board.fetchRepetitionCount());
+        assertFalse(model.isGameOngoing());
+        assertEquals("Game ended in draw by repetition", model.getPlayersAndStatusInGameList().get(0)[2]);
+    }
+
+    /**
+     * Tests that positions from before a pawn move are not counted as repetitions
+     */
+    @Test
+    public void testRepetitionStopsAtPawnMove() {
+        moveKnightsOutAndBack();
+        model.handleBoardInput(0,6);
+        model.handleBoardInput(0,5);
+
+        model.handleBoardInput(0,1);
+        model.handleBoardInput(0,2);
+
+        moveKnightsOutAndBack();
+        assertEquals(1, board.fetchRepetitionCount());
+        assertTrue(model.isGameOngoing());
+    }
+
+    /**
+     * Tests the 50-move rule by the halfmove clock
+     */
+    @Test
+    public void testFiftyMoveRule() {
+        board.getPositionState().setHalfmoveClock(98);
+        model.handleBoardInput(6,7);
+        model.handleBoardInput(5,5);
+        assertTrue(model.isGameOngoing());
+
+        model.handleBoardInput(6,0);
+        model.handleBoardInput(5,2);
+        assertFalse(model.isGameOngoing());
+        assertEquals("Game ended in draw by the 50-move rule", model.getPlayersAndStatusInGameList().get(0)[2]);
+    }
+
+    /**
+     * Tests that the material signature counts the pieces and follows pieces being removed
+     */
+    @Test
+    public void testMaterialSignature() {
+        long signature = board.getMaterialSignature();
+        assertEquals(8, MaterialSignature.count(signature, WHITE, PieceType.PAWN));
+        assertEquals(2, MaterialSignature.count(signature, BLACK, PieceType.KNIGHT));
+        assertEquals(2, MaterialSignature.count(signature, PieceType.QUEEN));
+
+        board.removePieceFromSquare(Square.of(3, 0));
+        assertEquals(1, MaterialSignature.count(board.getMaterialSignature(), PieceType.QUEEN));
+    }
+
+    /**
+     * Tests which combinations of material are not enough for a checkmate
+     */
+    @Test
+    public void testInsufficientMaterial() {
+        assertFalse(DrawRulesUtil.isInsufficientMaterial(board));
+
+        clearAllButKings();
+        assertTrue(DrawRulesUtil.isInsufficientMaterial(board));
+
+        board.placePieceOnSquare(Square.of(2, 7), PieceFactory.createBishop(WHITE));
+        assertTrue(DrawRulesUtil.isInsufficientMaterial(board));
+
+        board.placePieceOnSquare(Square.of(2, 0), PieceFactory.createBishop(BLACK));
+        assertFalse(DrawRulesUtil.isInsufficientMaterial(board));
+
+        board.placePieceOnSquare(Square.of(5, 0), board.removePieceFromSquare(Square.of(2, 0)));
+        assertTrue(DrawRulesUtil.isInsufficientMaterial(board));
+
+        board.placePieceOnSquare(Square.of(1, 0), PieceFactory.createKnight(BLACK));
+        assertFalse(DrawRulesUtil.isInsufficientMaterial(board));
+
+        board.placePieceOnSquare(Square.of(1, 0), PieceFactory.createPawn(BLACK));
+        assertFalse(DrawRulesUtil.isInsufficientMaterial(board));
+    }
+
+    /**
+     * Tests that the game ends when the last piece that could help a checkmate is taken
+     */
+    @Test
+    public void testGameEndsOnInsufficientMaterial() {
+        clearAllButKings();
+        board.placePieceOnSquare(Square.of(2, 4), PieceFactory.createRook(BLACK));
+        board.placePieceOnSquare(Square.of(3, 6), PieceFactory.createKnight(WHITE));
+        assertFalse(DrawRulesUtil.isInsufficientMaterial(board));
+
+        model.handleBoardInput(3,6);
+        model.handleBoardInput(2,4);
+        assertFalse(model.isGameOngoing());
+        assertEquals("Game ended in draw by insufficient material", model.getPlayersAndStatusInGameList().get(0)[2]);
+    }
+}
@@ -46,8 +46,8 @@ public class TestEnPassant {
         model.handleBoardInput(3,2);
 
 //      assertEquals("Pawn", board.fetchPieceOnPoint(new Point(3,2)).getPieceName());
-        assertTrue(board.pieceOnSquareColorEquals(new Square(3,2), ChessColor.WHITE));
-        assertEquals(null, board.fetchPieceOnSquare(new Square(3,3)));
+        assertTrue(board.pieceOnSquareColorEquals(Square.of(3,2), ChessColor.WHITE));
+        assertEquals(null, board.fetchPieceOnSquare(Square.of(3,3)));
     }
 
     /**
@@ -72,7 +72,7 @@ public class TestEnPassant {
         model.handleBoardInput(4,3);
         model.handleBoardInput(3,2);
 
-        assertEquals(null, board.fetchPieceOnSquare(new Square(3,2)));
+        assertEquals(null, board.fetchPieceOnSquare(Square.of(3,2)));
     }
 
     /**
@@ -97,6 +97,6 @@ public class TestEnPassant {
         model.handleBoardInput(4,3);
         model.handleBoardInput(3,2);
 
-        assertEquals(null, board.fetchPieceOnSquare(new Square(3,2)));
+        assertEquals(null, board.fetchPieceOnSquare(Square.of(3,2)));
     }
 }
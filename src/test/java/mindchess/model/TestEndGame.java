@@ -1,5 +1,7 @@
 package mindchess.model;
 
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
 import mindchess.model.enums.PlayerType;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,11 +23,12 @@ public class TestEndGame {
     }
 
     /**
-     * Tests that when you take the king, the game ends
+     * Tests that a move which leaves the king in check is rejected, so the king can never be taken
      */
     @Test
-    public void testCheckKingTaken(){
+    public void testMoveIgnoringCheckRejected(){
         model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+        IBoard board = model.getCurrentBoard();
         //Setup
         model.handleBoardInput(2,6);
         model.handleBoardInput(2,4);
@@ -36,16 +39,67 @@ public class TestEndGame {
         model.handleBoardInput(3,7);
         model.handleBoardInput(0,4);
 
+        //black pawn tries to take the white pawn while the king is in check
         model.handleBoardInput(3,3);
         model.handleBoardInput(2,4);
 
-        //white queen takes takes black king
-        model.handleBoardInput(0,4);
-        model.handleBoardInput(4,0);
+        assertEquals(PieceType.PAWN, board.fetchPieceOnSquare(Square.of(3, 3)).getPieceType());
+        assertEquals(ChessColor.WHITE, board.fetchPieceOnSquare(Square.of(2, 4)).getColor());
+        assertTrue(model.isGameOngoing());
+    }
+
+    /**
+     * Tests that the game ends when a player is checkmated, here by the fool's mate
+     */
+    @Test
+    public void testCheckmate() {
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+
+        model.handleBoardInput(5,6);
+        model.handleBoardInput(5,5);
+
+        model.handleBoardInput(4,1);
+        model.handleBoardInput(4,3);
+
+        model.handleBoardInput(6,6);
+        model.handleBoardInput(6,4);
+
+        assertTrue(model.isGameOngoing());
+        model.handleBoardInput(3,0);
+        model.handleBoardInput(7,4);
+
+        assertFalse(model.isGameOngoing());
+        assertEquals("Black has won the game", model.getPlayersAndStatusInGameList().get(0)[2]);
+    }
+
+    /**
+     * Tests that the game ends in a draw when a player has no legal move without being in check, here by the shortest known stalemate
+     */
+    @Test
+    public void testStalemate() {
+        model.createNewGame("White", "Black", PlayerType.HUMAN, PlayerType.HUMAN, 180);
+        int[][] moves = {
+                {4, 6, 4, 5}, {0, 1, 0, 3},
+                {3, 7, 7, 3}, {0, 0, 0, 2},
+                {7, 3, 0, 3}, {7, 1, 7, 3},
+                {7, 6, 7, 4}, {0, 2, 7, 2},
+                {0, 3, 2, 1}, {5, 1, 5, 2},
+                {2, 1, 3, 1}, {4, 0, 5, 1},
+                {3, 1, 1, 1}, {3, 0, 3, 5},
+                {1, 1, 1, 0}, {3, 5, 7, 1},
+                {1, 0, 2, 0}, {5, 1, 6, 2},
+        };
+        for (int[] move : moves) {
+            model.handleBoardInput(move[0], move[1]);
+            model.handleBoardInput(move[2], move[3]);
+        }
+        assertTrue(model.isGameOngoing());
+
+        model.handleBoardInput(2,0);
+        model.handleBoardInput(4,2);
 
-        //Should do nothing since the game is over
-        model.handleBoardInput(20,20);
         assertFalse(model.isGameOngoing());
+        assertEquals("Game ended in stalemate", model.getPlayersAndStatusInGameList().get(0)[2]);
     }
 
     /**
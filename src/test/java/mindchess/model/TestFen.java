@@ -0,0 +1,108 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that positions are read from and written as Forsyth-Edwards Notation
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestFen {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+    }
+
+    /**
+     * Tests that the starting position written as FEN is the standard starting position
+     */
+    @Test
+    public void testCreateFenOfStartingPosition() {
+        board.initBoard();
+        assertEquals(FenUtil.STARTING_POSITION, FenUtil.createFen(board));
+    }
+
+    /**
+     * Tests that a loaded position is written back as the same FEN
+     */
+    @Test
+    public void testLoadFenRoundTrip() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        FenUtil.loadFen(board, fen);
+        assertEquals(fen, FenUtil.createFen(board));
+
+        fen = "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w Kq d6 3 7";
+        FenUtil.loadFen(board, fen);
+        assertEquals(fen, FenUtil.createFen(board));
+    }
+
+    /**
+     * Tests that the fields of a FEN string end up on the board and in the position state
+     */
+    @Test
+    public void testLoadFenSetsPositionState() {
+        FenUtil.loadFen(board, "8/8/8/8/8/8/8/K6k b - e3 12");
+
+        assertEquals(2, board.fetchBoardSnapshot().getPieceCount());
+        assertEquals(Square.of(0, 7), board.fetchKingSquare(ChessColor.WHITE));
+        assertEquals(Square.of(7, 7), board.fetchKingSquare(ChessColor.BLACK));
+        assertEquals(PieceType.KING, board.fetchPieceOnSquare(Square.of(7, 7)).getPieceType());
+
+        PositionState positionState = board.getPositionState();
+        assertEquals(ChessColor.BLACK, positionState.getSideToMove());
+        assertEquals(0, positionState.getCastlingRights());
+        assertEquals(FenUtil.parseSquare("e3").getIndex(), positionState.getEnPassantIndex());
+        assertEquals(12, positionState.getHalfmoveClock());
+        assertEquals(1, positionState.getFullmoveNumber());
+    }
+
+    /**
+     * Tests that a position loaded from FEN gives the same position key as the position set up by the board
+     */
+    @Test
+    public void testLoadFenPositionKey() {
+        IBoard loadedBoard = BoardFactory.createBoard();
+        board.initBoard();
+        FenUtil.loadFen(loadedBoard, FenUtil.STARTING_POSITION);
+        assertEquals(board.getPositionKey(), loadedBoard.getPositionKey());
+    }
+
+    /**
+     * Tests that square names are converted both ways
+     */
+    @Test
+    public void testSquareNames() {
+        assertEquals(Square.of(0, 7), FenUtil.parseSquare("a1"));
+        assertEquals(Square.of(7, 0), FenUtil.parseSquare("h8"));
+        assertEquals("e4", FenUtil.createSquareName(Square.of(4, 4)));
+    }
+
+    /**
+     * Tests that invalid positions are rejected
+     */
+    @Test
+    public void testInvalidFen() {
+        String[] invalid = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQQBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w",
+        };
+        for (String fen : invalid) {
+            try {
+                FenUtil.loadFen(board, fen);
+                fail("Expected an exception for " + fen);
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+}
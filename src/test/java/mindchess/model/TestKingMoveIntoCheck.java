@@ -46,6 +46,6 @@ public class TestKingMoveIntoCheck {
         model.handleBoardInput(4,1);
         model.handleBoardInput(4,2);
 
-        assertEquals(KING, board.fetchPieceOnSquare(new Square(4, 1)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(4, 1)).getPieceType());
     }
 }
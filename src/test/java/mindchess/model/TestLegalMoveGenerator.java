@@ -0,0 +1,148 @@
+package mindchess.model;
+
+import mindchess.model.enums.MoveType;
+import mindchess.model.enums.PieceType;
+import mindchess.model.pieces.PieceFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.MoveType.NORMAL;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that only strictly legal moves are generated
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestLegalMoveGenerator {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+    }
+
+    private long perft(IBoard board, int depth) {
+        MoveList moveList = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        if (depth == 1) return moveList.size();
+
+        long nodes = 0;
+        for (int i = 0; i < moveList.size(); i++) {
+            long undo = board.makeMove(moveList.get(i));
+            nodes += perft(board, depth - 1);
+            board.unmakeMove(moveList.get(i), undo);
+        }
+        return nodes;
+    }
+
+    private void move(int fromX, int fromY, int toX, int toY) {
+        board.makeMove(Move.create(Square.of(fromX, fromY).getIndex(), Square.of(toX, toY).getIndex(), NORMAL));
+    }
+
+    /**
+     * Tests the number of positions after three plies from the starting position against the known perft values
+     */
+    @Test
+    public void testPerftStartingPosition() {
+        assertEquals(20, perft(board, 1));
+        assertEquals(400, perft(board, 2));
+        assertEquals(8902, perft(board, 3));
+    }
+
+    private void clearAllButKings() {
+        for (Square square : board.fetchBoardSnapshot().toMap().keySet()) {
+            if (board.fetchPieceOnSquare(square).getPieceType() != PieceType.KING) {
+                board.removePieceFromSquare(square);
+            }
+        }
+    }
+
+    /**
+     * Tests that a pinned piece may only move along the line of the pin
+     */
+    @Test
+    public void testPinnedPiece() {
+        clearAllButKings();
+        board.placePieceOnSquare(Square.of(4, 6), PieceFactory.createKnight(WHITE));
+        board.placePieceOnSquare(Square.of(4, 2), PieceFactory.createRook(BLACK));
+        board.placePieceOnSquare(Square.of(3, 6), PieceFactory.createBishop(WHITE));
+        board.placePieceOnSquare(Square.of(1, 4), PieceFactory.createBishop(BLACK));
+
+        assertTrue(LegalMoveGenerator.fetchLegalSquares(board, Square.of(4, 6)).isEmpty());
+        List<Square> bishopSquares = LegalMoveGenerator.fetchLegalSquares(board, Square.of(3, 6));
+        assertEquals(2, bishopSquares.size());
+        assertTrue(bishopSquares.containsAll(List.of(Square.of(2, 5), Square.of(1, 4))));
+    }
+
+    /**
+     * Tests that only moves that capture the checking piece, block it or move the king are allowed in check
+     */
+    @Test
+    public void testCheckEvasions() {
+        move(2, 6, 2, 4);
+        move(3, 1, 3, 3);
+        move(3, 7, 0, 4);
+
+        MoveList moveList = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+
+        assertEquals(6, moveList.size());
+        List<Square> pawnSquares = LegalMoveGenerator.fetchLegalSquares(board, Square.of(2, 1));
+        assertEquals(List.of(Square.of(2, 2)), pawnSquares);
+        assertTrue(LegalMoveGenerator.fetchLegalSquares(board, Square.of(3, 3)).isEmpty());
+    }
+
+    /**
+     * Tests that having any legal move is detected, and that a checkmated side has none
+     */
+    @Test
+    public void testHasAnyLegalMove() {
+        assertTrue(LegalMoveGenerator.hasAnyLegalMove(board));
+
+        move(5, 6, 5, 5);
+        move(4, 1, 4, 3);
+        move(6, 6, 6, 4);
+        assertTrue(LegalMoveGenerator.hasAnyLegalMove(board));
+        move(3, 0, 7, 4);
+        assertFalse(LegalMoveGenerator.hasAnyLegalMove(board));
+    }
+
+    /**
+     * Tests that a position where the only legal move is en passant has a legal move, and is stalemate without it
+     */
+    @Test
+    public void testHasAnyLegalMoveOnlyEnPassant() {
+        FenUtil.loadFen(board, "k7/8/8/2B5/3Pp3/4N3/8/1R5K b - d3 0 1");
+        MoveList moveList = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, moveList);
+        assertEquals(1, moveList.size());
+        assertEquals(MoveType.EN_PASSANT, Move.getMoveType(moveList.get(0)));
+        assertTrue(LegalMoveGenerator.hasAnyLegalMove(board));
+
+        FenUtil.loadFen(board, "k7/8/8/2B5/3Pp3/4N3/8/1R5K b - - 0 1");
+        assertFalse(LegalMoveGenerator.hasAnyLegalMove(board));
+    }
+
+    /**
+     * Tests that a king that can not move still has legal moves if another piece can move, and none when stalemated
+     */
+    @Test
+    public void testHasAnyLegalMoveStalemate() {
+        clearAllButKings();
+        board.removePieceFromSquare(Square.of(4, 0));
+        board.placePieceOnSquare(Square.of(0, 0), PieceFactory.createKing(BLACK));
+        board.placePieceOnSquare(Square.of(2, 1), PieceFactory.createQueen(WHITE));
+        board.placePieceOnSquare(Square.of(7, 1), PieceFactory.createPawn(BLACK));
+        move(4, 7, 4, 6);
+
+        assertTrue(LegalMoveGenerator.hasAnyLegalMove(board));
+        board.removePieceFromSquare(Square.of(7, 1));
+        assertFalse(LegalMoveGenerator.hasAnyLegalMove(board));
+    }
+}
@@ -0,0 +1,131 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.pieces.IPiece;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static mindchess.model.enums.MoveType.*;
+import static mindchess.model.enums.PieceType.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that moves made with IBoard.makeMove are restored exactly by IBoard.unmakeMove
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestMakeUnmakeMove {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+    }
+
+    private int move(int fromX, int fromY, int toX, int toY) {
+        return Move.create(Square.of(fromX, fromY).getIndex(), Square.of(toX, toY).getIndex(), NORMAL);
+    }
+
+    /**
+     * Tests that every move in the starting position can be made and unmade without changing the board
+     */
+    @Test
+    public void testUnmakeRestoresBoard() {
+        Map<Square, IPiece> before = board.fetchBoardSnapshot().toMap();
+        MoveList moveList = new MoveList();
+        MovementLogicUtil.fetchMovesByColor(board, ChessColor.WHITE, moveList);
+
+        for (int i = 0; i < moveList.size(); i++) {
+            long undo = board.makeMove(moveList.get(i));
+            board.unmakeMove(moveList.get(i), undo);
+            assertEquals(before, board.fetchBoardSnapshot().toMap());
+            assertEquals(PositionState.ALL_CASTLING_RIGHTS, board.getPositionState().getCastlingRights());
+        }
+        assertNull(board.getPositionState().getEnPassantSquare());
+    }
+
+    /**
+     * Tests that a taken piece is put back and removed from the dead pieces
+     */
+    @Test
+    public void testUnmakeCapture() {
+        board.makeMove(move(4, 6, 4, 4));
+        board.makeMove(move(3, 1, 3, 3));
+        IPiece blackPawn = board.fetchPieceOnSquare(Square.of(3, 3));
+        Map<Square, IPiece> before = board.fetchBoardSnapshot().toMap();
+
+        int capture = move(4, 4, 3, 3);
+        long undo = board.makeMove(capture);
+        assertEquals(blackPawn, board.getDeadPieces().get(0));
+
+        board.unmakeMove(capture, undo);
+        assertEquals(before, board.fetchBoardSnapshot().toMap());
+        assertSame(blackPawn, board.fetchPieceOnSquare(Square.of(3, 3)));
+        assertTrue(board.getDeadPieces().isEmpty());
+        assertEquals(Square.of(3, 2), board.getPositionState().getEnPassantSquare());
+    }
+
+    /**
+     * Tests that en passant takes the pawn beside the moving pawn and that unmaking it restores the en passant square
+     */
+    @Test
+    public void testUnmakeEnPassant() {
+        board.makeMove(move(4, 6, 4, 4));
+        board.makeMove(move(0, 1, 0, 2));
+        board.makeMove(move(4, 4, 4, 3));
+        board.makeMove(move(3, 1, 3, 3));
+        Map<Square, IPiece> before = board.fetchBoardSnapshot().toMap();
+
+        int enPassant = Move.create(Square.of(4, 3).getIndex(), Square.of(3, 2).getIndex(), EN_PASSANT);
+        long undo = board.makeMove(enPassant);
+        assertNull(board.fetchPieceOnSquare(Square.of(3, 3)));
+        assertNull(board.getPositionState().getEnPassantSquare());
+
+        board.unmakeMove(enPassant, undo);
+        assertEquals(before, board.fetchBoardSnapshot().toMap());
+        assertEquals(Square.of(3, 2), board.getPositionState().getEnPassantSquare());
+    }
+
+    /**
+     * Tests that castling moves the rook and that unmaking it gives the king and rook back their right to castle
+     */
+    @Test
+    public void testUnmakeCastling() {
+        board.removePieceFromSquare(Square.of(5, 7));
+        board.removePieceFromSquare(Square.of(6, 7));
+        Map<Square, IPiece> before = board.fetchBoardSnapshot().toMap();
+
+        int castling = Move.create(Square.of(4, 7).getIndex(), Square.of(6, 7).getIndex(), CASTLING);
+        long undo = board.makeMove(castling);
+        assertEquals(ROOK, board.fetchPieceOnSquare(Square.of(5, 7)).getPieceType());
+        assertEquals(KING, board.fetchPieceOnSquare(Square.of(6, 7)).getPieceType());
+
+        board.unmakeMove(castling, undo);
+        assertEquals(before, board.fetchBoardSnapshot().toMap());
+        assertTrue(board.getPositionState().canCastle(ChessColor.WHITE, true));
+        assertTrue(board.getPositionState().canCastle(ChessColor.WHITE, false));
+    }
+
+    /**
+     * Tests that a promotion replaces the pawn and that unmaking it puts the pawn back
+     */
+    @Test
+    public void testUnmakePromotion() {
+        board.removePieceFromSquare(Square.of(3, 0));
+        IPiece pawn = board.removePieceFromSquare(Square.of(3, 6));
+        board.placePieceOnSquare(Square.of(3, 1), pawn);
+        Map<Square, IPiece> before = board.fetchBoardSnapshot().toMap();
+
+        int promotion = Move.create(Square.of(3, 1).getIndex(), Square.of(2, 0).getIndex(), PROMOTION, KNIGHT);
+        long undo = board.makeMove(promotion);
+        assertEquals(KNIGHT, board.fetchPieceOnSquare(Square.of(2, 0)).getPieceType());
+        assertEquals(BISHOP, board.getDeadPieces().get(0).getPieceType());
+
+        board.unmakeMove(promotion, undo);
+        assertEquals(before, board.fetchBoardSnapshot().toMap());
+        assertSame(pawn, board.fetchPieceOnSquare(Square.of(3, 1)));
+    }
+}
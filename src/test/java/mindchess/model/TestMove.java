@@ -0,0 +1,72 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.enums.MoveType.*;
+import static mindchess.model.enums.PieceType.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the int encoding of moves and the generation of moves into a MoveList
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestMove {
+    IBoard board;
+    MoveList moveList;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+        moveList = new MoveList();
+    }
+
+    /**
+     * Tests that every part of a move can be read back after it has been encoded
+     */
+    @Test
+    public void testEncodeAndDecode() {
+        int move = Move.create(Square.of(4, 1).getIndex(), Square.of(4, 0).getIndex(), PROMOTION, KNIGHT);
+
+        assertEquals(Square.of(4, 1), Move.getFromSquare(move));
+        assertEquals(Square.of(4, 0), Move.getToSquare(move));
+        assertEquals(PROMOTION, Move.getMoveType(move));
+        assertEquals(KNIGHT, Move.getPromotionPieceType(move));
+        assertEquals("e7e8n", Move.toString(move));
+        assertNull(Move.getPromotionPieceType(Move.create(63, 0, CASTLING)));
+        assertEquals(CASTLING, Move.getMoveType(Move.create(63, 0, CASTLING)));
+    }
+
+    /**
+     * Tests that both players have twenty moves in the starting position
+     */
+    @Test
+    public void testStartingPositionMoves() {
+        MovementLogicUtil.fetchMovesByColor(board, ChessColor.WHITE, moveList);
+        assertEquals(20, moveList.size());
+
+        moveList.clear();
+        MovementLogicUtil.fetchMovesByColor(board, ChessColor.BLACK, moveList);
+        assertEquals(20, moveList.size());
+    }
+
+    /**
+     * Tests that a pawn on the last rank gets one move for each promotion piece, but only one destination square
+     */
+    @Test
+    public void testPromotionMoves() {
+        board.removePieceFromSquare(Square.of(3, 0));
+        Square pawnSquare = Square.of(3, 1);
+        board.placePieceOnSquare(pawnSquare, board.removePieceFromSquare(Square.of(3, 6)));
+
+        board.fetchPieceOnSquare(pawnSquare).getMoveDelegate().fetchMoves(board, pawnSquare, moveList);
+
+        assertEquals(12, moveList.size());
+        assertTrue(moveList.contains(Move.create(pawnSquare.getIndex(), Square.of(2, 0).getIndex(), PROMOTION, QUEEN)));
+        assertTrue(moveList.contains(Move.create(pawnSquare.getIndex(), Square.of(3, 0).getIndex(), PROMOTION, BISHOP)));
+        assertEquals(3, moveList.fetchDestinationSquares().size());
+    }
+}
@@ -27,14 +27,20 @@ public class TestMoveDelegates {
         board = model.getCurrentBoard();
     }
 
+    private List<Square> fetchSquares(IPiece piece, Square square) {
+        MoveList moveList = new MoveList();
+        piece.getMoveDelegate().fetchMoves(board, square, moveList);
+        return moveList.fetchDestinationSquares();
+    }
+
     /**
      * Tests that the Queen can move according to the rules of chess(from the start position)
      */
     @Test
     public void testCheckLegalQueen() {
-        Square queenPosition = new Square(3,0);
+        Square queenPosition = Square.of(3,0);
         IPiece queen = board.fetchPieceOnSquare(queenPosition);
-        List<Square> squares = queen.getMoveDelegate().fetchMoves(board, queenPosition, queen.getHasMoved(), false);
+        List<Square> squares = fetchSquares(queen, queenPosition);
 
         assertEquals(0, squares.size());
     }
@@ -44,13 +50,13 @@ public class TestMoveDelegates {
      */
     @Test
     public void testCheckLegalBlackPawn() {
-        Square pawnPosition = new Square(5,1);
+        Square pawnPosition = Square.of(5,1);
         IPiece pawn = board.fetchPieceOnSquare(pawnPosition);
-        List<Square> squares = pawn.getMoveDelegate().fetchMoves(board, pawnPosition, pawn.getHasMoved(), false);
+        List<Square> squares = fetchSquares(pawn, pawnPosition);
 
         List<Square> comparisonList = new ArrayList<>();
-        comparisonList.add(new Square(5,2));
-        comparisonList.add(new Square(5,3));
+        comparisonList.add(Square.of(5,2));
+        comparisonList.add(Square.of(5,3));
 
         assertEquals(squares, comparisonList);
     }
@@ -60,13 +66,13 @@ public class TestMoveDelegates {
      */
     @Test
     public void testCheckLegalWhitePawn() {
-        Square pawnPosition = new Square(0,6);
+        Square pawnPosition = Square.of(0,6);
         IPiece pawn = board.fetchPieceOnSquare(pawnPosition);
-        List<Square> squares = pawn.getMoveDelegate().fetchMoves(board, pawnPosition, pawn.getHasMoved(), false);
+        List<Square> squares = fetchSquares(pawn, pawnPosition);
 
         List<Square> comparisonList = new ArrayList<>();
-        comparisonList.add(new Square(0,5));
-        comparisonList.add(new Square(0,4));
+        comparisonList.add(Square.of(0,5));
+        comparisonList.add(Square.of(0,4));
 
         assertEquals(squares, comparisonList);
     }
@@ -76,13 +82,13 @@ public class TestMoveDelegates {
      */
     @Test
     public void testCheckLegalWhitePawnAfterMove() {
-        Square pawnPosition = new Square(0,6);
-        IPiece pawn = board.fetchPieceOnSquare(pawnPosition);
-        pawn.setHasMoved(true);
-        List<Square> squares = pawn.getMoveDelegate().fetchMoves(board, pawnPosition, pawn.getHasMoved(), false);
+        Square pawnPosition = Square.of(0,5);
+        IPiece pawn = board.removePieceFromSquare(Square.of(0,6));
+        board.placePieceOnSquare(pawnPosition, pawn);
+        List<Square> squares = fetchSquares(pawn, pawnPosition);
 
         List<Square> comparisonList = new ArrayList<>();
-        comparisonList.add(new Square(0,5));
+        comparisonList.add(Square.of(0,4));
 
         assertEquals(squares, comparisonList);
     }
@@ -92,9 +98,9 @@ public class TestMoveDelegates {
      */
     @Test
     public void testCheckLegalKnight() {
-        Square knightPosition = new Square(1,0);
+        Square knightPosition = Square.of(1,0);
         IPiece knight = board.fetchPieceOnSquare(knightPosition);
-        List<Square> squares = knight.getMoveDelegate().fetchMoves(board, knightPosition, knight.getHasMoved(), false);
+        List<Square> squares = fetchSquares(knight, knightPosition);
 
         assertTrue(squares.get(0).getX() == 2 && squares.get(0).getY() == 2);
     }
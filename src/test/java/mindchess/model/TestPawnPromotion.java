@@ -41,25 +41,31 @@ public class TestPawnPromotion {
         model.handleBoardInput(5,1);
         model.handleBoardInput(5,2);
 
-        model.handleBoardInput(4,3);
-        model.handleBoardInput(4,2);
+        model.handleBoardInput(0,6);
+        model.handleBoardInput(0,5);
 
         model.handleBoardInput(4, 0);
         model.handleBoardInput(5, 1);
 
+        model.handleBoardInput(4,3);
         model.handleBoardInput(4,2);
-        model.handleBoardInput(4,1);
 
         model.handleBoardInput(5,1);
         model.handleBoardInput(6,2);
 
+        model.handleBoardInput(4,2);
+        model.handleBoardInput(4,1);
+
+        model.handleBoardInput(0,1);
+        model.handleBoardInput(0,2);
+
         //Execution
         model.handleBoardInput(4,1);
         model.handleBoardInput(4,0);
 
         model.handleBoardInput(20,0);
 
-        assertEquals(PieceType.QUEEN, board.fetchPieceOnSquare(new Square(4,0)).getPieceType());
+        assertEquals(PieceType.QUEEN, board.fetchPieceOnSquare(Square.of(4,0)).getPieceType());
     }
 
     /**
@@ -80,18 +86,24 @@ public class TestPawnPromotion {
         model.handleBoardInput(5,1);
         model.handleBoardInput(5,2);
 
-        model.handleBoardInput(4,3);
-        model.handleBoardInput(4,2);
+        model.handleBoardInput(0,6);
+        model.handleBoardInput(0,5);
 
         model.handleBoardInput(4, 0);
         model.handleBoardInput(5, 1);
 
+        model.handleBoardInput(4,3);
+        model.handleBoardInput(4,2);
+
+        model.handleBoardInput(5,1);
+        model.handleBoardInput(6,2);
+
         //Execution. Will fail since the pawn won't be in a spot where it can be promoted
         model.handleBoardInput(4,2);
         model.handleBoardInput(4,1);
 
         model.handleBoardInput(0,1);
 
-        assertEquals(PieceType.PAWN, board.fetchPieceOnSquare(new Square(4,1)).getPieceType());
+        assertEquals(PieceType.PAWN, board.fetchPieceOnSquare(Square.of(4,1)).getPieceType());
     }
 }
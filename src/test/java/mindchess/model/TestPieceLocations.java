@@ -0,0 +1,63 @@
+package mindchess.model;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.MoveType.NORMAL;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the board keeps track of where the pieces of every color and type are
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestPieceLocations {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+    }
+
+    /**
+     * Tests that every piece on the board is in the set of its color and type, and in no other set
+     */
+    @Test
+    public void testPieceBitboardsMatchBoard() {
+        for (ChessColor color : ChessColor.values()) {
+            long allPieces = 0;
+            for (PieceType pieceType : PieceType.values()) {
+                long pieces = board.getPieceBitboard(color, pieceType);
+                assertEquals(0, allPieces & pieces);
+                allPieces |= pieces;
+                for (long bits = pieces; bits != 0; bits &= bits - 1) {
+                    assertEquals(pieceType, board.fetchPieceOnSquare(Square.of(Long.numberOfTrailingZeros(bits))).getPieceType());
+                }
+            }
+            assertEquals(board.getColorBitboard(color), allPieces);
+        }
+        assertEquals(8, Long.bitCount(board.getPieceBitboard(WHITE, PieceType.PAWN)));
+    }
+
+    /**
+     * Tests that the king square follows the king when it moves and when the move is unmade
+     */
+    @Test
+    public void testFetchKingSquareFollowsKing() {
+        board.makeMove(Move.create(Square.of(4, 6).getIndex(), Square.of(4, 4).getIndex(), NORMAL));
+        board.makeMove(Move.create(Square.of(4, 1).getIndex(), Square.of(4, 3).getIndex(), NORMAL));
+        int kingMove = Move.create(Square.of(4, 7).getIndex(), Square.of(4, 6).getIndex(), NORMAL);
+        long undo = board.makeMove(kingMove);
+
+        assertEquals(Square.of(4, 6), board.fetchKingSquare(WHITE));
+        assertEquals(Square.of(4, 0), board.fetchKingSquare(BLACK));
+
+        board.unmakeMove(kingMove, undo);
+        assertEquals(Square.of(4, 7), board.fetchKingSquare(WHITE));
+    }
+}
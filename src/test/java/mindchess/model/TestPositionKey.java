@@ -0,0 +1,111 @@
+package mindchess.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.enums.MoveType.NORMAL;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the Zobrist position key identifies positions
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestPositionKey {
+    IBoard board;
+    IBoard otherBoard;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+        otherBoard = BoardFactory.createBoard();
+        otherBoard.initBoard();
+    }
+
+    private int move(int fromX, int fromY, int toX, int toY) {
+        return Move.create(Square.of(fromX, fromY).getIndex(), Square.of(toX, toY).getIndex(), NORMAL);
+    }
+
+    /**
+     * Tests that the same position reached with a different move order has the same key
+     */
+    @Test
+    public void testTransposition() {
+        board.makeMove(move(6, 7, 5, 5));
+        board.makeMove(move(6, 0, 5, 2));
+        board.makeMove(move(1, 7, 2, 5));
+
+        otherBoard.makeMove(move(1, 7, 2, 5));
+        otherBoard.makeMove(move(6, 0, 5, 2));
+        otherBoard.makeMove(move(6, 7, 5, 5));
+
+        assertEquals(board.getPositionKey(), otherBoard.getPositionKey());
+    }
+
+    /**
+     * Tests that the key depends on the side to move
+     */
+    @Test
+    public void testSideToMove() {
+        long startKey = board.getPositionKey();
+        board.makeMove(move(6, 7, 5, 5));
+        board.makeMove(move(6, 0, 5, 2));
+        board.makeMove(move(5, 5, 6, 7));
+        assertNotEquals(startKey, board.getPositionKey());
+        board.makeMove(move(5, 2, 6, 0));
+        assertEquals(startKey, board.getPositionKey());
+    }
+
+    /**
+     * Tests that the key changes when the castling rights are lost, even if the pieces end up on the same squares
+     */
+    @Test
+    public void testCastlingRights() {
+        board.removePieceFromSquare(Square.of(6, 7));
+        otherBoard.removePieceFromSquare(Square.of(6, 7));
+        long startKey = board.getPositionKey();
+
+        board.makeMove(move(7, 7, 6, 7));
+        board.makeMove(move(1, 0, 2, 2));
+        board.makeMove(move(6, 7, 7, 7));
+        board.makeMove(move(2, 2, 1, 0));
+
+        assertEquals(board.fetchBoardSnapshot().toMap().keySet(), otherBoard.fetchBoardSnapshot().toMap().keySet());
+        assertNotEquals(startKey, board.getPositionKey());
+    }
+
+    /**
+     * Tests that the en passant file is only part of the key when the side to move can take en passant
+     */
+    @Test
+    public void testEnPassantFile() {
+        board.makeMove(move(4, 6, 4, 4));
+        board.makeMove(move(0, 1, 0, 2));
+        board.makeMove(move(4, 4, 4, 3));
+        board.makeMove(move(3, 1, 3, 3));
+
+        otherBoard.makeMove(move(4, 6, 4, 4));
+        otherBoard.makeMove(move(3, 1, 3, 2));
+        otherBoard.makeMove(move(4, 4, 4, 3));
+        otherBoard.makeMove(move(0, 1, 0, 2));
+        otherBoard.makeMove(move(6, 7, 5, 5));
+        otherBoard.makeMove(move(3, 2, 3, 3));
+        otherBoard.makeMove(move(5, 5, 6, 7));
+        assertNotEquals(board.getPositionKey(), otherBoard.getPositionKey());
+        assertEquals(board.fetchBoardSnapshot().toMap().keySet(), otherBoard.fetchBoardSnapshot().toMap().keySet());
+    }
+
+    /**
+     * Tests that unmaking a move restores the key
+     */
+    @Test
+    public void testUnmakeRestoresKey() {
+        long startKey = board.getPositionKey();
+        int move = move(4, 6, 4, 4);
+        long undo = board.makeMove(move);
+        assertNotEquals(startKey, board.getPositionKey());
+        board.unmakeMove(move, undo);
+        assertEquals(startKey, board.getPositionKey());
+    }
+}
@@ -0,0 +1,112 @@
+package mindchess.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static mindchess.model.PositionState.*;
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static mindchess.model.enums.MoveType.NORMAL;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the position state of the board is updated when moves are made and unmade
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestPositionState {
+    IBoard board;
+    PositionState positionState;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+        positionState = board.getPositionState();
+    }
+
+    private long move(int fromX, int fromY, int toX, int toY) {
+        return board.makeMove(Move.create(Square.of(fromX, fromY).getIndex(), Square.of(toX, toY).getIndex(), NORMAL));
+    }
+
+    /**
+     * Tests the state of the starting position
+     */
+    @Test
+    public void testStartingPosition() {
+        assertEquals(WHITE, positionState.getSideToMove());
+        assertEquals(ALL_CASTLING_RIGHTS, positionState.getCastlingRights());
+        assertNull(positionState.getEnPassantSquare());
+        assertEquals(0, positionState.getHalfmoveClock());
+        assertEquals(1, positionState.getFullmoveNumber());
+    }
+
+    /**
+     * Tests that the side to move, fullmove number and en passant square follow the moves
+     */
+    @Test
+    public void testSideToMoveAndEnPassant() {
+        move(4, 6, 4, 4);
+        assertEquals(BLACK, positionState.getSideToMove());
+        assertEquals(Square.of(4, 5), positionState.getEnPassantSquare());
+        assertEquals(1, positionState.getFullmoveNumber());
+
+        move(6, 0, 5, 2);
+        assertEquals(WHITE, positionState.getSideToMove());
+        assertNull(positionState.getEnPassantSquare());
+        assertEquals(2, positionState.getFullmoveNumber());
+    }
+
+    /**
+     * Tests that the halfmove clock counts plies since the last pawn move or capture
+     */
+    @Test
+    public void testHalfmoveClock() {
+        move(6, 7, 5, 5);
+        move(6, 0, 5, 2);
+        assertEquals(2, positionState.getHalfmoveClock());
+        move(4, 6, 4, 4);
+        assertEquals(0, positionState.getHalfmoveClock());
+        move(5, 2, 4, 4);
+        assertEquals(0, positionState.getHalfmoveClock());
+    }
+
+    /**
+     * Tests that castling rights are lost when the king or a rook moves or when a rook is taken
+     */
+    @Test
+    public void testCastlingRights() {
+        move(7, 6, 7, 4);
+        move(0, 1, 0, 3);
+        move(7, 7, 7, 5);
+        assertFalse(positionState.canCastle(WHITE, true));
+        assertTrue(positionState.canCastle(WHITE, false));
+
+        move(4, 1, 4, 2);
+        move(7, 5, 0, 5);
+        move(4, 0, 4, 1);
+        assertFalse(positionState.canCastle(BLACK, true));
+        assertFalse(positionState.canCastle(BLACK, false));
+    }
+
+    /**
+     * Tests that unmaking a move restores the whole state
+     */
+    @Test
+    public void testUnmakeRestoresState() {
+        move(6, 7, 5, 5);
+        move(4, 1, 4, 3);
+        int kingMove = Move.create(Square.of(4, 7).getIndex(), Square.of(4, 6).getIndex(), NORMAL);
+        move(4, 6, 4, 4);
+        move(6, 0, 5, 2);
+        long before = positionState.toBits();
+
+        long undo = board.makeMove(kingMove);
+        assertEquals(BLACK_KING_SIDE | BLACK_QUEEN_SIDE, positionState.getCastlingRights());
+        board.unmakeMove(kingMove, undo);
+
+        assertEquals(before, positionState.toBits());
+        assertEquals(WHITE, positionState.getSideToMove());
+        assertEquals(3, positionState.getFullmoveNumber());
+    }
+}
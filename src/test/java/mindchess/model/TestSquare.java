@@ -0,0 +1,55 @@
+package mindchess.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that squares are interned and identified by their packed index
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestSquare {
+
+    /**
+     * Tests that the same square instance is returned for the same coordinates and index
+     */
+    @Test
+    public void testSquaresAreInterned() {
+        assertSame(Square.of(4, 6), Square.of(4, 6));
+        assertSame(Square.of(52), Square.of(4, 6));
+    }
+
+    /**
+     * Tests that the packed index matches the bit index used by the bitboards
+     */
+    @Test
+    public void testPackedIndex() {
+        for (int i = 0; i < 64; i++) {
+            Square square = Square.of(i);
+            assertEquals(i, square.getIndex());
+            assertEquals(i & 7, square.getX());
+            assertEquals(i >>> 3, square.getY());
+        }
+    }
+
+    /**
+     * Tests that coordinates outside the board do not give a square
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSquareOutsideBoard() {
+        Square.of(20, 0);
+    }
+
+    /**
+     * Tests that the coordinates on the board are recognized
+     */
+    @Test
+    public void testIsOnBoard() {
+        assertTrue(Square.isOnBoard(0, 0));
+        assertTrue(Square.isOnBoard(7, 7));
+        assertFalse(Square.isOnBoard(8, 0));
+        assertFalse(Square.isOnBoard(20, 0));
+        assertFalse(Square.isOnBoard(0, -1));
+    }
+}
@@ -0,0 +1,79 @@
+package mindchess.model;
+
+import mindchess.model.pieces.IPiece;
+import mindchess.model.pieces.PieceFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static mindchess.model.enums.ChessColor.BLACK;
+import static mindchess.model.enums.ChessColor.WHITE;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the queries for which pieces attack a square
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestSquareAttacked {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        board.initBoard();
+    }
+
+    private long bit(int x, int y) {
+        return 1L << Square.of(x, y).getIndex();
+    }
+
+    /**
+     * Tests which squares are attacked in the starting position
+     */
+    @Test
+    public void testStartingPosition() {
+        assertTrue(board.isSquareAttacked(Square.of(5, 5), WHITE));
+        assertFalse(board.isSquareAttacked(Square.of(5, 5), BLACK));
+        assertFalse(board.isSquareAttacked(Square.of(4, 4), WHITE));
+        assertTrue(board.isSquareAttacked(Square.of(3, 2), BLACK));
+        assertEquals(bit(4, 6) | bit(6, 6) | bit(6, 7), board.attackersTo(Square.of(5, 5)));
+    }
+
+    /**
+     * Tests that sliding pieces are blocked and that attackers of both colors are found
+     */
+    @Test
+    public void testAttackersOfBothColors() {
+        board.placePieceOnSquare(Square.of(3, 3), PieceFactory.createQueen(WHITE));
+        board.placePieceOnSquare(Square.of(3, 4), PieceFactory.createKnight(BLACK));
+
+        long attackers = board.attackersTo(Square.of(4, 2));
+        assertEquals(bit(3, 1) | bit(5, 1) | bit(3, 3) | bit(3, 4), attackers);
+        assertEquals(0, board.attackersTo(Square.of(3, 5)) & bit(3, 3));
+        assertTrue(board.isSquareAttacked(Square.of(2, 6), BLACK));
+    }
+
+    /**
+     * Tests that the king can not take a piece that is defended or stay on the file of a checking rook
+     */
+    @Test
+    public void testKingCanNotMoveToAttackedSquare() {
+        for (int x = 0; x < 8; x++) {
+            board.removePieceFromSquare(Square.of(x, 6));
+            board.removePieceFromSquare(Square.of(x, 1));
+        }
+        board.removePieceFromSquare(Square.of(3, 7));
+        IPiece rook = board.removePieceFromSquare(Square.of(0, 0));
+        board.placePieceOnSquare(Square.of(4, 5), rook);
+        board.placePieceOnSquare(Square.of(3, 6), PieceFactory.createPawn(BLACK));
+
+        List<Square> squares = LegalMoveGenerator.fetchLegalSquares(board, Square.of(4, 7));
+
+        assertTrue(squares.contains(Square.of(3, 7)));
+        assertTrue(squares.contains(Square.of(5, 6)));
+        assertFalse(squares.contains(Square.of(3, 6)));
+        assertFalse(squares.contains(Square.of(4, 6)));
+    }
+}
@@ -29,7 +29,7 @@ public class TestTakePieces {
      */
     @Test
     public void testTakePieceSuccess(){
-        IPiece IPiece = model.getCurrentBoardMap().get(new Square(3,7));
+        IPiece IPiece = model.getCurrentBoardMap().get(Square.of(3,7));
 
         model.handleBoardInput(4,6);
         model.handleBoardInput(4,5);
@@ -51,7 +51,7 @@ public class TestTakePieces {
      */
     @Test
     public void testTakePieceFail(){
-        IPiece IPiece = model.getCurrentBoardMap().get(new Square(4, 0));
+        IPiece IPiece = model.getCurrentBoardMap().get(Square.of(4, 0));
 
         model.handleBoardInput(3,0);
         model.handleBoardInput(4,0);
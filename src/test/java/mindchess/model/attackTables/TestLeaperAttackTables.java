@@ -0,0 +1,38 @@
+package mindchess.model.attackTables;
+
+import mindchess.model.enums.ChessColor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the precomputed knight, king and pawn attack tables
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestLeaperAttackTables {
+
+    @Test
+    public void testKnightAttacks() {
+        assertEquals((1L << 10) | (1L << 17), LeaperAttackTables.knightAttacks(0));
+        assertEquals(8, Long.bitCount(LeaperAttackTables.knightAttacks(4 * 8 + 4)));
+    }
+
+    @Test
+    public void testKingAttacks() {
+        assertEquals(3, Long.bitCount(LeaperAttackTables.kingAttacks(63)));
+        assertEquals(8, Long.bitCount(LeaperAttackTables.kingAttacks(4 * 8 + 4)));
+    }
+
+    /**
+     * Tests that white pawns attack towards y = 0 and black pawns towards y = 7
+     */
+    @Test
+    public void testPawnAttacks() {
+        int square = 6 * 8 + 4;
+        assertEquals((1L << (5 * 8 + 3)) | (1L << (5 * 8 + 5)), LeaperAttackTables.pawnAttacks(ChessColor.WHITE.ordinal(), square));
+        assertEquals((1L << (7 * 8 + 3)) | (1L << (7 * 8 + 5)), LeaperAttackTables.pawnAttacks(ChessColor.BLACK.ordinal(), square));
+        assertEquals(1L << (5 * 8 + 1), LeaperAttackTables.pawnAttacks(ChessColor.WHITE.ordinal(), 6 * 8));
+        assertEquals(0L, LeaperAttackTables.pawnAttacks(ChessColor.BLACK.ordinal(), 7 * 8 + 2));
+    }
+}
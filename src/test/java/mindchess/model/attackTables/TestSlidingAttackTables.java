@@ -0,0 +1,114 @@
+package mindchess.model.attackTables;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the magic bitboard lookups give the same attacks as walking the rays square by square
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestSlidingAttackTables {
+
+    /**
+     * Tests the rook attacks from a corner on an empty board and with blockers
+     */
+    @Test
+    public void testRookAttacksFromCorner() {
+        assertEquals(14, Long.bitCount(SlidingAttackTables.rookAttacks(0, 0L)));
+
+        long blockers = (1L << 3) | (1L << 16);
+        long expected = (1L << 1) | (1L << 2) | (1L << 3) | (1L << 8) | (1L << 16);
+        assertEquals(expected, SlidingAttackTables.rookAttacks(0, blockers));
+    }
+
+    /**
+     * Tests the bishop attacks from the center of an empty board
+     */
+    @Test
+    public void testBishopAttacksFromCenter() {
+        assertEquals(13, Long.bitCount(SlidingAttackTables.bishopAttacks(3 * 8 + 3, 0L)));
+    }
+
+    /**
+     * Tests all three slider lookups against ray walking for random occupancies
+     */
+    @Test
+    public void testLookupsMatchRayWalking() {
+        Random random = new Random(42);
+        int[][] rookDirections = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] bishopDirections = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+        for (int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            int square = random.nextInt(64);
+
+            long rook = walkRays(square, occupied, rookDirections);
+            long bishop = walkRays(square, occupied, bishopDirections);
+            assertEquals(rook, SlidingAttackTables.rookAttacks(square, occupied));
+            assertEquals(bishop, SlidingAttackTables.bishopAttacks(square, occupied));
+            assertEquals(rook | bishop, SlidingAttackTables.queenAttacks(square, occupied));
+        }
+    }
+
+    /**
+     * Tests every occupancy of the relevant squares of every square, which fails if a magic maps two occupancies with
+     * different attacks to the same table index
+     */
+    @Test
+    public void testEveryMagicIsCollisionFree() {
+        int[][] rookDirections = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] bishopDirections = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+        for (int square = 0; square < 64; square++) {
+            long rookMask = relevantOccupancy(square, rookDirections);
+            long subset = 0;
+            do {
+                assertEquals(walkRays(square, subset, rookDirections), SlidingAttackTables.rookAttacks(square, subset));
+                subset = (subset - rookMask) & rookMask;
+            } while (subset != 0);
+
+            long bishopMask = relevantOccupancy(square, bishopDirections);
+            do {
+                assertEquals(walkRays(square, subset, bishopDirections), SlidingAttackTables.bishopAttacks(square, subset));
+                subset = (subset - bishopMask) & bishopMask;
+            } while (subset != 0);
+        }
+    }
+
+    /**
+     * The squares on the rays from the square, without the last square of every ray, whose occupancy changes no attack
+     */
+    private long relevantOccupancy(int square, int[][] directions) {
+        long mask = 0;
+        for (int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while (x + direction[0] >= 0 && x + direction[0] < 8 && y + direction[1] >= 0 && y + direction[1] < 8) {
+                mask |= 1L << (y * 8 + x);
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private long walkRays(int square, long occupied, int[][] directions) {
+        long attacks = 0;
+        for (int[] direction : directions) {
+            int x = (square & 7) + direction[0];
+            int y = (square >>> 3) + direction[1];
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long bit = 1L << (y * 8 + x);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,123 @@
+package mindchess.model.engine;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the search on several threads finds moves as good as the search on one thread and leaves the board as it was
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestLazySmpSearch {
+    private static final String MIDDLE_GAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    IBoard board;
+    TranspositionTable table;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        table = new TranspositionTable(4, true);
+    }
+
+    /**
+     * Tests that a search on one thread finds the same move and score as the plain search
+     */
+    @Test
+    public void testOneThreadMatchesSearch() {
+        FenUtil.loadFen(board, MIDDLE_GAME);
+        Search search = new Search(board);
+        int expected = search.findBestMove(4, Long.MAX_VALUE, 60_000);
+
+        LazySmpSearch lazySmpSearch = new LazySmpSearch(board, table, 1);
+        assertEquals(expected, lazySmpSearch.findBestMove(4, Long.MAX_VALUE, 60_000, 60_000));
+        assertEquals(search.getBestScore(), lazySmpSearch.getBestScore());
+    }
+
+    /**
+     * Tests that a search on several threads reaches the depth with a legal move, counts the nodes of every thread and
+     * restores the board
+     */
+    @Test
+    public void testSeveralThreads() {
+        FenUtil.loadFen(board, MIDDLE_GAME);
+        LazySmpSearch lazySmpSearch = new LazySmpSearch(board, table, 3);
+        int move = lazySmpSearch.findBestMove(4, Long.MAX_VALUE, 60_000, 60_000);
+
+        assertTrue(LegalMoveGenerator.isLegalMove(board, move));
+        assertEquals(4, lazySmpSearch.getCompletedDepth());
+        assertTrue(lazySmpSearch.getNodeCount() > 0);
+        assertTrue(lazySmpSearch.fetchReport().startsWith("threads 3 depth 4"));
+        assertEquals(MIDDLE_GAME, FenUtil.createFen(board));
+    }
+
+    /**
+     * Tests that a search on several threads finds a mate
+     */
+    @Test
+    public void testSeveralThreadsFindMate() {
+        FenUtil.loadFen(board, "kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1");
+        LazySmpSearch lazySmpSearch = new LazySmpSearch(board, table, 4);
+        assertEquals("a1a6", Move.toString(lazySmpSearch.findBestMove(10, Long.MAX_VALUE, 60_000, 60_000)));
+        assertEquals(Search.MATE_SCORE - 3, lazySmpSearch.getBestScore());
+    }
+
+    /**
+     * Tests that the helper threads are stopped when the main thread runs out of time, in the middle of a depth none of them
+     * can finish. The timeout is far above the hard limit, it only catches helpers that are never stopped
+     */
+    @Test(timeout = 10_000)
+    public void testHelpersStopWithMainThread() {
+        FenUtil.loadFen(board, MIDDLE_GAME);
+        LazySmpSearch lazySmpSearch = new LazySmpSearch(board, table, 4);
+        int move = lazySmpSearch.findBestMove(64, Long.MAX_VALUE, 60_000, 100);
+        lazySmpSearch.shutdown();
+
+        assertTrue(LegalMoveGenerator.isLegalMove(board, move));
+        assertTrue(lazySmpSearch.getCompletedDepth() < 64);
+    }
+
+    /**
+     * Tests that the helper threads are kept from one search to the next and end when the search is shut down
+     */
+    @Test(timeout = 10_000)
+    public void testHelperThreadsAreKept() throws InterruptedException {
+        FenUtil.loadFen(board, MIDDLE_GAME);
+        Set<Thread> otherHelpers = fetchHelperThreads();
+        LazySmpSearch lazySmpSearch = new LazySmpSearch(board, table, 3);
+
+        lazySmpSearch.findBestMove(3, Long.MAX_VALUE, 60_000, 60_000);
+        Set<Thread> firstHelpers = fetchHelperThreads();
+        firstHelpers.removeAll(otherHelpers);
+        board.makeMove(lazySmpSearch.findBestMove(3, Long.MAX_VALUE, 60_000, 60_000));
+        lazySmpSearch.findBestMove(3, Long.MAX_VALUE, 60_000, 60_000);
+        Set<Thread> secondHelpers = fetchHelperThreads();
+        secondHelpers.removeAll(otherHelpers);
+
+        assertEquals(2, firstHelpers.size());
+        assertEquals(firstHelpers, secondHelpers);
+
+        lazySmpSearch.shutdown();
+        for (Thread thread : firstHelpers) {
+            thread.join();
+        }
+    }
+
+    private Set<Thread> fetchHelperThreads() {
+        Set<Thread> helperThreads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("Search helper")) helperThreads.add(thread);
+        }
+        return helperThreads;
+    }
+}
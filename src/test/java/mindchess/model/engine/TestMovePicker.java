@@ -0,0 +1,196 @@
+package mindchess.model.engine;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import mindchess.model.MoveList;
+import mindchess.model.Square;
+import mindchess.model.enums.MoveType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static mindchess.model.Move.NO_MOVE;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the move picker hands out every legal move once, in the order given by the tables of the move orderer
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestMovePicker {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    IBoard board;
+    MoveOrderer orderer;
+    MovePicker picker;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        orderer = new MoveOrderer();
+        picker = new MovePicker(orderer);
+    }
+
+    private int findMove(String name) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, LegalMoveGenerator.ALL_MOVES, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(name)) return moves.get(i);
+        }
+        throw new IllegalArgumentException("No legal move " + name);
+    }
+
+    private List<Integer> fetchPickedMoves() {
+        List<Integer> picked = new ArrayList<>();
+        for (int move = picker.nextMove(); move != NO_MOVE; move = picker.nextMove()) {
+            picked.add(move);
+        }
+        return picked;
+    }
+
+    /**
+     * Tests that every legal move is handed out exactly once, with the hash move first and the captures before the quiet moves
+     */
+    @Test
+    public void testEveryMoveOnce() {
+        FenUtil.loadFen(board, KIWIPETE);
+        int hashMove = findMove("e2a6");
+        orderer.recordCutoff(board, findMove("a2a3"), NO_MOVE, 3, 2);
+        picker.reset(board, hashMove, 3, NO_MOVE);
+        List<Integer> picked = fetchPickedMoves();
+
+        MoveList legalMoves = new MoveList();
+        LegalMoveGenerator.fetchLegalMoves(board, LegalMoveGenerator.ALL_MOVES, legalMoves);
+        assertEquals(legalMoves.size(), picked.size());
+        assertEquals(picked.size(), new HashSet<>(picked).size());
+        for (int move : picked) {
+            assertTrue(legalMoves.contains(move));
+        }
+        assertEquals(hashMove, (int) picked.get(0));
+
+        boolean quietSeen = false;
+        for (int move : picked.subList(1, picked.size())) {
+            if (MoveOrderer.isQuiet(board, move)) quietSeen = true;
+            else assertFalse(quietSeen);
+        }
+    }
+
+    /**
+     * Tests that the captures are handed out with the most valuable victim first
+     */
+    @Test
+    public void testCapturesByMostValuableVictim() {
+        FenUtil.loadFen(board, "4k3/8/8/2q1r3/3P4/8/8/7K w - - 0 1");
+        picker.resetCaptures(board);
+        assertEquals("d4c5", Move.toString(picker.nextMove()));
+        assertEquals("d4e5", Move.toString(picker.nextMove()));
+        assertEquals(NO_MOVE, picker.nextMove());
+    }
+
+    /**
+     * Tests that the killer moves of the ply are handed out first among the quiet moves, the newest first
+     */
+    @Test
+    public void testKillerMovesFirst() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        orderer.recordCutoff(board, findMove("g1f3"), NO_MOVE, 2, 3);
+        orderer.recordCutoff(board, findMove("b1c3"), NO_MOVE, 2, 3);
+        orderer.newSearch();
+        orderer.recordCutoff(board, findMove("g1f3"), NO_MOVE, 2, 1);
+        orderer.recordCutoff(board, findMove("b1c3"), NO_MOVE, 2, 1);
+
+        picker.reset(board, NO_MOVE, 2, NO_MOVE);
+        assertEquals("b1c3", Move.toString(picker.nextMove()));
+        assertEquals("g1f3", Move.toString(picker.nextMove()));
+        assertEquals(20, fetchPickedMoves().size() + 2);
+    }
+
+    /**
+     * Tests that captures are not recorded as killer moves and that a killer move that is not legal is skipped
+     */
+    @Test
+    public void testOnlyLegalQuietKillers() {
+        FenUtil.loadFen(board, "4k3/8/8/2q1r3/3P4/8/8/7K w - - 0 1");
+        orderer.recordCutoff(board, findMove("d4c5"), NO_MOVE, 1, 1);
+        assertEquals(NO_MOVE, orderer.getKiller(1, 0));
+
+        orderer.recordCutoff(board, findMove("h1g2"), NO_MOVE, 1, 1);
+        FenUtil.loadFen(board, "4k3/8/8/2q1r3/3P4/8/6P1/7K w - - 0 1");
+        picker.reset(board, NO_MOVE, 1, NO_MOVE);
+        List<Integer> picked = fetchPickedMoves();
+        assertFalse(picked.contains(orderer.getKiller(1, 0)));
+        assertEquals(picked.size(), new HashSet<>(picked).size());
+    }
+
+    /**
+     * Tests that the quiet move that refuted the previous move is handed out first after the previous move
+     */
+    @Test
+    public void testCounterMove() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        int previousMove = findMove("e2e4");
+        board.makeMove(previousMove);
+        int counterMove = findMove("e7e5");
+        orderer.recordCutoff(board, counterMove, previousMove, 1, 1);
+        orderer.newSearch();
+
+        assertEquals(counterMove, orderer.getCounterMove(board, previousMove));
+        picker.reset(board, NO_MOVE, 5, previousMove);
+        assertEquals(counterMove, picker.nextMove());
+    }
+
+    /**
+     * Tests that the quiet moves are ordered by how much they have caused cutoffs
+     */
+    @Test
+    public void testHistoryOrder() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        orderer.recordCutoff(board, findMove("h2h3"), NO_MOVE, 10, 2);
+        orderer.recordCutoff(board, findMove("a2a4"), NO_MOVE, 10, 4);
+        orderer.newSearch();
+
+        assertTrue(orderer.getHistoryScore(board, findMove("a2a4")) > orderer.getHistoryScore(board, findMove("h2h3")));
+        picker.reset(board, NO_MOVE, 0, NO_MOVE);
+        assertEquals("a2a4", Move.toString(picker.nextMove()));
+        assertEquals("h2h3", Move.toString(picker.nextMove()));
+    }
+
+    /**
+     * Tests that a hash move that is not legal in the position is never handed out
+     */
+    @Test
+    public void testIllegalHashMoveSkipped() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        int hashMove = Move.create(Square.of(4, 7).getIndex(), Square.of(4, 5).getIndex(), MoveType.NORMAL);
+        picker.reset(board, hashMove, 0, NO_MOVE);
+        List<Integer> picked = fetchPickedMoves();
+
+        assertFalse(picked.contains(hashMove));
+        assertEquals(20, picked.size());
+    }
+
+    /**
+     * Tests that a picker without an orderer hands out every legal move, with the captures first, and only the captures
+     * when only they are wanted
+     */
+    @Test
+    public void testPickerWithoutOrderer() {
+        picker = new MovePicker();
+        FenUtil.loadFen(board, "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2");
+        int capture = findMove("e4d5");
+
+        picker.reset(board, NO_MOVE, 0, NO_MOVE);
+        List<Integer> picked = fetchPickedMoves();
+        assertEquals(capture, (int) picked.get(0));
+        assertEquals(31, picked.size());
+
+        picker.resetCaptures(board);
+        assertEquals(List.of(capture), fetchPickedMoves());
+    }
+}
@@ -0,0 +1,154 @@
+package mindchess.model.engine;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import mindchess.model.LegalMoveGenerator;
+import mindchess.model.Move;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the alpha-beta search finds the best moves of simple positions and leaves the board as it was
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestSearch {
+    IBoard board;
+    Search search;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+        search = new Search(board);
+    }
+
+    private String findBestMove(String fen, int depth) {
+        FenUtil.loadFen(board, fen);
+        return Move.toString(search.findBestMove(depth, Long.MAX_VALUE, 60_000));
+    }
+
+    /**
+     * Tests that a mate in one is found and scored as a mate
+     */
+    @Test
+    public void testFindsMateInOne() {
+        assertEquals("a1a8", findBestMove("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", 3));
+        assertEquals(Search.MATE_SCORE - 1, search.getBestScore());
+    }
+
+    /**
+     * Tests that a mate in two with a quiet first move is found
+     */
+    @Test
+    public void testFindsMateInTwo() {
+        assertEquals("a1a6", findBestMove("kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1", 4));
+        assertEquals(Search.MATE_SCORE - 3, search.getBestScore());
+    }
+
+    /**
+     * Tests that a mate at the horizon is scored as a mate by the quiescence search, so that it is preferred to taking a queen.
+     * At depth 1 the mated side is only seen in the quiescence search, which may not stand pat while in check
+     */
+    @Test
+    public void testMateAtHorizon() {
+        assertEquals("e1e8", findBestMove("7k/6pp/8/q7/8/1N6/8/4R1K1 w - - 0 1", 1));
+        assertEquals(Search.MATE_SCORE - 1, search.getBestScore());
+    }
+
+    /**
+     * Tests that a piece that is not defended is taken
+     */
+    @Test
+    public void testTakesHangingQueen() {
+        assertEquals("d2d5", findBestMove("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", 2));
+    }
+
+    /**
+     * Tests that a defended piece is not taken by a more valuable piece, which only the quiescence search sees at depth 1
+     */
+    @Test
+    public void testAvoidsLosingExchange() {
+        assertNotEquals("d1d5", findBestMove("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1", 1));
+    }
+
+    /**
+     * Tests that there is no move to return when the side to move is stalemated
+     */
+    @Test
+    public void testNoMoveWhenStalemated() {
+        FenUtil.loadFen(board, "k7/2Q5/1K6/8/8/8/8/8 b - - 0 1");
+        assertEquals(Move.NO_MOVE, search.findBestMove(3, Long.MAX_VALUE, 60_000));
+    }
+
+    /**
+     * Tests that the search restores the position it was given
+     */
+    @Test
+    public void testSearchRestoresBoard() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        FenUtil.loadFen(board, fen);
+        long key = board.getPositionKey();
+        search.findBestMove(3, Long.MAX_VALUE, 60_000);
+        assertEquals(key, board.getPositionKey());
+        assertEquals(fen, FenUtil.createFen(board));
+        assertTrue(board.getDeadPieces().isEmpty());
+    }
+
+    /**
+     * Tests that the search stops when the node budget has been used and still returns a legal move
+     */
+    @Test
+    public void testNodeBudget() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        int move = search.findBestMove(10, 5000, 60_000);
+        assertTrue(search.getNodeCount() <= 5000);
+        assertNotEquals(Move.NO_MOVE, move);
+    }
+
+    /**
+     * Tests that the search stops at the hard time limit, in the middle of a depth it cannot finish, with the best move of a
+     * finished depth and the board restored. The timeout is far above the hard limit, it only catches a search that never stops
+     */
+    @Test(timeout = 10_000)
+    public void testHardTimeLimit() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        FenUtil.loadFen(board, fen);
+        int move = search.findBestMove(64, Long.MAX_VALUE, 60_000, 100);
+
+        assertTrue(search.getCompletedDepth() >= 1);
+        assertTrue(search.getCompletedDepth() < 64);
+        assertTrue(LegalMoveGenerator.isLegalMove(board, move));
+        assertEquals(fen, FenUtil.createFen(board));
+    }
+
+    /**
+     * Tests that iterative deepening reaches the requested depth and stops deepening when a mate is found
+     */
+    @Test
+    public void testIterativeDeepeningReachesDepth() {
+        FenUtil.loadFen(board, "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        search.findBestMove(3, Long.MAX_VALUE, 60_000, 60_000);
+        assertEquals(3, search.getCompletedDepth());
+
+        // The mate is on the third ply, it is seen at depth 3 since the mated side is in check in the quiescence search
+        assertEquals("a1a6", findBestMove("kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1", 10));
+        assertEquals(3, search.getCompletedDepth());
+    }
+
+    /**
+     * Tests that the evaluation is zero for the starting position and the same for both colors of a mirrored position
+     */
+    @Test
+    public void testEvaluationIsSymmetric() {
+        FenUtil.loadFen(board, FenUtil.STARTING_POSITION);
+        assertEquals(0, EvaluationUtil.evaluate(board));
+
+        FenUtil.loadFen(board, "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        int white = EvaluationUtil.evaluate(board);
+        FenUtil.loadFen(board, "rnbqkb1r/pppp1ppp/5n2/4p3/4P3/2N5/PPPP1PPP/R1BQKBNR b KQkq - 2 3");
+        assertEquals(white, EvaluationUtil.evaluate(board));
+    }
+}
@@ -0,0 +1,48 @@
+package mindchess.model.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the time for a move is shared out from the clock so that a player never runs out of time
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestTimeManagement {
+
+    /**
+     * Tests that the soft limit is a share of the time left and that the hard limit is larger but a small part of the time left
+     */
+    @Test
+    public void testLimitsShareTimeLeft() {
+        long soft = TimeManagementUtil.fetchSoftLimitMillis(60, 1);
+        long hard = TimeManagementUtil.fetchHardLimitMillis(60, 1);
+
+        assertTrue(soft > 1000 && soft < 2000);
+        assertTrue(hard > soft);
+        assertTrue(hard <= 60_000 / 5);
+    }
+
+    /**
+     * Tests that a larger share of the time left is used later in the game, when fewer moves are expected to remain
+     */
+    @Test
+    public void testMoreTimePerMoveLaterInGame() {
+        assertTrue(TimeManagementUtil.fetchSoftLimitMillis(60, 30) > TimeManagementUtil.fetchSoftLimitMillis(60, 1));
+        assertEquals(TimeManagementUtil.fetchSoftLimitMillis(60, 30), TimeManagementUtil.fetchSoftLimitMillis(60, 80));
+    }
+
+    /**
+     * Tests that the limits stay within the time that is certainly left when the clock is almost out
+     */
+    @Test
+    public void testLimitsWithLittleTimeLeft() {
+        for (int seconds = 1; seconds <= 5; seconds++) {
+            long usable = (seconds - 1) * 1000L;
+            long hard = TimeManagementUtil.fetchHardLimitMillis(seconds, 20);
+            assertTrue(TimeManagementUtil.fetchSoftLimitMillis(seconds, 20) <= hard);
+            assertTrue(hard <= Math.max(10, usable / 5));
+        }
+    }
+}
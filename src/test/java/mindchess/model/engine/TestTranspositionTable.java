@@ -0,0 +1,142 @@
+package mindchess.model.engine;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static mindchess.model.engine.TranspositionTable.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that results are stored and found in the transposition table, replaced by the bucket policy and never mixed up when
+ * several threads write to the table
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestTranspositionTable {
+    TranspositionTable table;
+
+    @Before
+    public void init() {
+        table = new TranspositionTable(1, true);
+    }
+
+    /**
+     * Tests that every field of an entry is read back as it was stored, both off and on the heap
+     */
+    @Test
+    public void testStoreAndProbe() {
+        for (TranspositionTable t : new TranspositionTable[]{table, new TranspositionTable(1, false)}) {
+            long key = 0x123456789ABCDEFL;
+            t.store(key, 0x1ABCD, -29950, 12, LOWER_BOUND);
+
+            long entry = t.probe(key);
+            assertEquals(0x1ABCD, getMove(entry));
+            assertEquals(-29950, getScore(entry));
+            assertEquals(12, getDepth(entry));
+            assertEquals(LOWER_BOUND, getBound(entry));
+            assertEquals(NO_ENTRY, t.probe(key + 1));
+        }
+    }
+
+    /**
+     * Tests that a position with another key in the same bucket is not found
+     */
+    @Test
+    public void testOtherKeyInBucketIsNotFound() {
+        long key = 5;
+        table.store(key, 100, 10, 3, EXACT);
+        assertEquals(NO_ENTRY, table.probe(key + table.getBucketCount()));
+    }
+
+    /**
+     * Tests that the deep slot keeps the deepest result and that shallower results go to the always replaced slot
+     */
+    @Test
+    public void testBucketReplacement() {
+        long buckets = table.getBucketCount();
+        long deep = 7;
+        long shallow = deep + buckets;
+        long newest = deep + 2 * buckets;
+
+        table.store(deep, 1, 0, 8, EXACT);
+        table.store(shallow, 2, 0, 2, EXACT);
+        assertEquals(1, getMove(table.probe(deep)));
+        assertEquals(2, getMove(table.probe(shallow)));
+
+        table.store(newest, 3, 0, 1, EXACT);
+        assertEquals(1, getMove(table.probe(deep)));
+        assertEquals(NO_ENTRY, table.probe(shallow));
+        assertEquals(3, getMove(table.probe(newest)));
+
+        table.newSearch();
+        table.store(shallow, 2, 0, 1, EXACT);
+        assertEquals(NO_ENTRY, table.probe(deep));
+        assertEquals(2, getMove(table.probe(shallow)));
+    }
+
+    /**
+     * Tests that storing a position again without a move keeps the move that was stored before
+     */
+    @Test
+    public void testKeepsMoveWhenNoneGiven() {
+        table.store(42, 1234, 0, 4, LOWER_BOUND);
+        table.store(42, 0, -5, 5, UPPER_BOUND);
+        long entry = table.probe(42);
+        assertEquals(1234, getMove(entry));
+        assertEquals(UPPER_BOUND, getBound(entry));
+    }
+
+    /**
+     * Tests that threads writing different positions to the same buckets never make a probe return the data of another
+     * position, which the XOR of the key and the data prevents
+     */
+    @Test
+    public void testConcurrentWritesAreVerified() throws InterruptedException {
+        TranspositionTable small = new TranspositionTable(1, true);
+        long buckets = small.getBucketCount();
+        AtomicBoolean mixedUp = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    long key = (i & 15) + buckets * ((i * 7 + thread) & 63);
+                    small.store(key, (int) (key & 0x1FFFF), (int) (key % 30000), (int) (key & 0xFF), EXACT);
+                    long probeKey = ((i + 3) & 15) + buckets * ((i * 5 + thread) & 63);
+                    long entry = small.probe(probeKey);
+                    if (entry != NO_ENTRY && (getMove(entry) != (int) (probeKey & 0x1FFFF) || getScore(entry) != (int) (probeKey % 30000))) {
+                        mixedUp.set(true);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertFalse(mixedUp.get());
+    }
+
+    /**
+     * Tests that a search with a table finds the same move and score as one without it, while visiting fewer positions
+     */
+    @Test
+    public void testSearchWithTable() {
+        String fen = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+        IBoard board = BoardFactory.createBoard();
+        FenUtil.loadFen(board, fen);
+        Search plain = new Search(board);
+        int plainMove = plain.findBestMove(4, Long.MAX_VALUE, 60_000);
+
+        Search withTable = new Search(board, table);
+        assertEquals(plainMove, withTable.findBestMove(4, Long.MAX_VALUE, 60_000));
+        assertEquals(plain.getBestScore(), withTable.getBestScore());
+        assertTrue(withTable.getNodeCount() < plain.getNodeCount());
+        assertEquals(fen, FenUtil.createFen(board));
+    }
+}
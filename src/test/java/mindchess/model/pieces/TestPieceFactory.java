@@ -0,0 +1,41 @@
+package mindchess.model.pieces;
+
+import mindchess.model.enums.ChessColor;
+import mindchess.model.enums.PieceType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the pieces are shared flyweights
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestPieceFactory {
+
+    /**
+     * Tests that the same piece is returned every time a piece of a color and type is created
+     */
+    @Test
+    public void testPiecesAreShared() {
+        for (ChessColor color : ChessColor.values()) {
+            for (PieceType pieceType : PieceType.values()) {
+                IPiece piece = PieceFactory.createPiece(pieceType, color);
+                assertSame(piece, PieceFactory.createPiece(pieceType, color));
+                assertSame(piece, PieceFactory.fetchPiece(piece.getPieceIndex()));
+                assertEquals(color, piece.getColor());
+                assertEquals(pieceType, piece.getPieceType());
+            }
+        }
+        assertSame(PieceFactory.createPawn(ChessColor.WHITE), PieceFactory.createPiece(PieceType.PAWN, ChessColor.WHITE));
+    }
+
+    /**
+     * Tests that pieces of the same type share one move delegate
+     */
+    @Test
+    public void testMoveDelegatesAreShared() {
+        assertSame(PieceFactory.createRook(ChessColor.WHITE).getMoveDelegate(), PieceFactory.createRook(ChessColor.BLACK).getMoveDelegate());
+        assertNotSame(PieceFactory.createRook(ChessColor.WHITE).getMoveDelegate(), PieceFactory.createBishop(ChessColor.WHITE).getMoveDelegate());
+    }
+}
@@ -0,0 +1,99 @@
+package mindchess.perft;
+
+import mindchess.model.BoardFactory;
+import mindchess.model.FenUtil;
+import mindchess.model.IBoard;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the legal move generation gives the known node counts of the reference positions
+ *
+ * @author Erik Wessman, Elias Carlson, Elias Hallberg, Arvid Holmqvist
+ */
+public class TestPerft {
+    IBoard board;
+
+    @Before
+    public void init() {
+        board = BoardFactory.createBoard();
+    }
+
+    /**
+     * Tests the node counts of every reference position to depth 3
+     */
+    @Test
+    public void testReferencePositions() {
+        for (ReferencePosition position : ReferencePosition.values()) {
+            FenUtil.loadFen(board, position.getFen());
+            Perft perft = new Perft(board);
+            for (int depth = 1; depth <= 3; depth++) {
+                assertEquals(position + " depth " + depth, position.getNodeCount(depth), perft.countNodes(depth));
+            }
+        }
+    }
+
+    /**
+     * Tests the node counts of the reference positions
+     */
+    @Test
+    public void testReferencePositionsOnDefaultBoard() {
+        board = BoardFactory.createBoard();
+        for (ReferencePosition position : ReferencePosition.values()) {
+            FenUtil.loadFen(board, position.getFen());
+            assertEquals(position.toString(), position.getNodeCount(3), new Perft(board).countNodes(3));
+        }
+    }
+
+    /**
+     * Tests that counting leaves the position on the board unchanged
+     */
+    @Test
+    public void testCountingRestoresBoard() {
+        FenUtil.loadFen(board, ReferencePosition.KIWIPETE.getFen());
+        long key = board.getPositionKey();
+        new Perft(board).countNodes(3);
+        assertEquals(key, board.getPositionKey());
+        assertEquals(ReferencePosition.KIWIPETE.getFen(), FenUtil.createFen(board));
+    }
+
+    /**
+     * Tests that the divide counts add up to the node count and name every root move
+     */
+    @Test
+    public void testDivide() {
+        FenUtil.loadFen(board, ReferencePosition.POSITION_3.getFen());
+        Map<String, Long> counts = new Perft(board).divide(4);
+
+        assertEquals(14, counts.size());
+        assertEquals(ReferencePosition.POSITION_3.getNodeCount(4), counts.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(counts.containsKey("e2e4"));
+    }
+
+    /**
+     * Tests that the hash table does not change the node counts
+     */
+    @Test
+    public void testHashTable() {
+        for (ReferencePosition position : ReferencePosition.values()) {
+            FenUtil.loadFen(board, position.getFen());
+            assertEquals(position.toString(), position.getNodeCount(4), new Perft(board, 1).countNodes(4));
+        }
+    }
+
+    /**
+     * Tests that splitting the root moves between threads gives the same counts as a single thread
+     */
+    @Test
+    public void testThreadedDivide() throws InterruptedException {
+        String fen = ReferencePosition.KIWIPETE.getFen();
+        Map<String, Long> threaded = PerftRunner.divide(fen, 3, 4, 1);
+
+        FenUtil.loadFen(board, fen);
+        assertEquals(new Perft(board).divide(3), threaded);
+    }
+}